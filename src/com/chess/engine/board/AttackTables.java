@@ -0,0 +1,135 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+
+public final class AttackTables {
+
+    private static final int[][] KNIGHT_OFFSETS = {{-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}};
+    private static final int[][] KING_OFFSETS = {{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}};
+
+    private static final long[] KNIGHT_ATTACKS = initLeaperAttacks(KNIGHT_OFFSETS);
+    private static final long[] KING_ATTACKS = initLeaperAttacks(KING_OFFSETS);
+    private static final long[][] PAWN_ATTACKS = initPawnTable(new int[][]{{1, -1}, {1, 1}}, false);
+    private static final long[][] PAWN_PUSHES = initPawnTable(new int[][]{{1, 0}}, false);
+    private static final long[][] PAWN_JUMPS = initPawnTable(new int[][]{{2, 0}}, true);
+    private static final long[][] BETWEEN = new long[BoardUtils.NUM_TILES][BoardUtils.NUM_TILES];
+    private static final long[][] LINE = new long[BoardUtils.NUM_TILES][BoardUtils.NUM_TILES];
+
+    static {
+        initLines();
+    }
+
+    private AttackTables() {
+        throw new RuntimeException("Not Instantiable!");
+    }
+
+    public static long knightAttacks(final int square) {
+        return KNIGHT_ATTACKS[square];
+    }
+
+    public static long kingAttacks(final int square) {
+        return KING_ATTACKS[square];
+    }
+
+    public static long pawnAttacks(final Alliance alliance,
+                                   final int square) {
+        return PAWN_ATTACKS[alliance.ordinal()][square];
+    }
+
+    public static long pawnPush(final Alliance alliance,
+                                final int square) {
+        return PAWN_PUSHES[alliance.ordinal()][square];
+    }
+
+    public static long pawnJump(final Alliance alliance,
+                                final int square) {
+        return PAWN_JUMPS[alliance.ordinal()][square];
+    }
+
+    // squares strictly between two squares sharing a rank, file or diagonal, empty otherwise
+    public static long between(final int from,
+                               final int to) {
+        return BETWEEN[from][to];
+    }
+
+    // the whole rank, file or diagonal through both squares, empty if they share none
+    public static long line(final int from,
+                            final int to) {
+        return LINE[from][to];
+    }
+
+    private static void initLines() {
+        for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+            for (final int[] direction : KING_OFFSETS) {
+                final long line = ray(square, direction[0], direction[1]) | ray(square, -direction[0], -direction[1]) |
+                        BitBoard.squareBit(square);
+                long between = 0L;
+                int row = square / BoardUtils.NUM_TILES_PER_ROW + direction[0];
+                int column = square % BoardUtils.NUM_TILES_PER_ROW + direction[1];
+                while (row >= 0 && row < BoardUtils.NUM_TILES_PER_ROW && column >= 0 && column < BoardUtils.NUM_TILES_PER_ROW) {
+                    final int target = row * BoardUtils.NUM_TILES_PER_ROW + column;
+                    BETWEEN[square][target] = between;
+                    LINE[square][target] = line;
+                    between |= BitBoard.squareBit(target);
+                    row += direction[0];
+                    column += direction[1];
+                }
+            }
+        }
+    }
+
+    private static long ray(final int square,
+                            final int rowStep,
+                            final int columnStep) {
+        long ray = 0L;
+        int row = square / BoardUtils.NUM_TILES_PER_ROW + rowStep;
+        int column = square % BoardUtils.NUM_TILES_PER_ROW + columnStep;
+        while (row >= 0 && row < BoardUtils.NUM_TILES_PER_ROW && column >= 0 && column < BoardUtils.NUM_TILES_PER_ROW) {
+            ray |= BitBoard.squareBit(row * BoardUtils.NUM_TILES_PER_ROW + column);
+            row += rowStep;
+            column += columnStep;
+        }
+        return ray;
+    }
+
+    private static long[] initLeaperAttacks(final int[][] offsets) {
+        final long[] attacks = new long[BoardUtils.NUM_TILES];
+        for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+            attacks[square] = leaperAttacks(square, offsets, 1);
+        }
+        return attacks;
+    }
+
+    // offsets are {rows forward, columns}, flipped to the alliance's direction of travel
+    private static long[][] initPawnTable(final int[][] offsets,
+                                          final boolean startingRankOnly) {
+        final long[][] table = new long[Alliance.values().length][BoardUtils.NUM_TILES];
+        for (final Alliance alliance : Alliance.values()) {
+            final boolean[] startingRank = alliance.isWhite() ? BoardUtils.SECOND_RANK : BoardUtils.SEVENTH_RANK;
+            for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+                if (!startingRankOnly || startingRank[square]) {
+                    table[alliance.ordinal()][square] = leaperAttacks(square, offsets, -alliance.getDirection());
+                }
+            }
+        }
+        return table;
+    }
+
+    private static long leaperAttacks(final int square,
+                                      final int[][] offsets,
+                                      final int rowDirection) {
+        final int row = square / BoardUtils.NUM_TILES_PER_ROW;
+        final int column = square % BoardUtils.NUM_TILES_PER_ROW;
+        long attacks = 0L;
+        for (final int[] offset : offsets) {
+            final int targetRow = row - offset[0] * rowDirection;
+            final int targetColumn = column + offset[1];
+            if (targetRow >= 0 && targetRow < BoardUtils.NUM_TILES_PER_ROW &&
+                    targetColumn >= 0 && targetColumn < BoardUtils.NUM_TILES_PER_ROW) {
+                attacks |= BitBoard.squareBit(targetRow * BoardUtils.NUM_TILES_PER_ROW + targetColumn);
+            }
+        }
+        return attacks;
+    }
+
+}
@@ -0,0 +1,339 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece.PieceType;
+
+public final class BitBoard {
+
+    public static final int NUM_PIECE_TYPES = PieceType.values().length;
+    public static final int NUM_PIECE_BOARDS = NUM_PIECE_TYPES * Alliance.values().length;
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+    private static final int MAX_EXCHANGES = 32;
+
+    // one word per (alliance, piece type), indexed by pieceIndex(), bit n set <=> tile n occupied
+    private final long[] pieceBoards;
+    private final long[] allianceBoards;
+    private long occupied;
+
+    BitBoard() {
+        this.pieceBoards = new long[NUM_PIECE_BOARDS];
+        this.allianceBoards = new long[Alliance.values().length];
+        this.occupied = 0L;
+    }
+
+    BitBoard(final BitBoard other) {
+        this.pieceBoards = other.pieceBoards.clone();
+        this.allianceBoards = other.allianceBoards.clone();
+        this.occupied = other.occupied;
+    }
+
+    public long getPieces(final Alliance alliance,
+                          final PieceType pieceType) {
+        return this.pieceBoards[pieceIndex(alliance, pieceType)];
+    }
+
+    public long getPieces(final int pieceIndex) {
+        return this.pieceBoards[pieceIndex];
+    }
+
+    public long getPieces(final Alliance alliance) {
+        return this.allianceBoards[alliance.ordinal()];
+    }
+
+    public long getPieces(final PieceType pieceType) {
+        return getPieces(Alliance.WHITE, pieceType) | getPieces(Alliance.BLACK, pieceType);
+    }
+
+    public long getOccupied() {
+        return this.occupied;
+    }
+
+    public long getEmpty() {
+        return ~this.occupied;
+    }
+
+    public boolean isOccupied(final int square) {
+        return (this.occupied & squareBit(square)) != 0L;
+    }
+
+    // reverse lookup: a piece of either alliance attacks the square iff the same piece type standing on the
+    // square would attack it back, with pawns taken from the opposite alliance's attack table
+    public long attackersOf(final int square) {
+        return attackersOf(square, Alliance.WHITE) | attackersOf(square, Alliance.BLACK);
+    }
+
+    public long attackersOf(final int square,
+                            final Alliance attacker) {
+        return attackersOf(square, attacker, this.occupied);
+    }
+
+    public boolean isSquareAttacked(final int square,
+                                    final Alliance attacker) {
+        final long queens = getPieces(attacker, PieceType.QUEEN);
+        return (AttackTables.pawnAttacks(opponent(attacker), square) & getPieces(attacker, PieceType.PAWN)) != 0L ||
+                (AttackTables.knightAttacks(square) & getPieces(attacker, PieceType.KNIGHT)) != 0L ||
+                (AttackTables.kingAttacks(square) & getPieces(attacker, PieceType.KING)) != 0L ||
+                (MagicBitBoards.bishopAttacks(square, this.occupied) & (getPieces(attacker, PieceType.BISHOP) | queens)) != 0L ||
+                (MagicBitBoards.rookAttacks(square, this.occupied) & (getPieces(attacker, PieceType.ROOK) | queens)) != 0L;
+    }
+
+    public int kingSquare(final Alliance alliance) {
+        return firstSquare(getPieces(alliance, PieceType.KING));
+    }
+
+    public long checkers(final Alliance alliance) {
+        return attackersOf(kingSquare(alliance), opponent(alliance));
+    }
+
+    // own pieces that are the only blocker between the king and an enemy slider on the same line
+    public long pinnedPieces(final Alliance alliance) {
+        final int king = kingSquare(alliance);
+        final Alliance enemy = opponent(alliance);
+        final long queens = getPieces(enemy, PieceType.QUEEN);
+        long pinned = 0L;
+        for (long snipers = (MagicBitBoards.rookAttacks(king, 0L) & (getPieces(enemy, PieceType.ROOK) | queens)) |
+                (MagicBitBoards.bishopAttacks(king, 0L) & (getPieces(enemy, PieceType.BISHOP) | queens));
+             snipers != 0L; snipers = clearFirstSquare(snipers)) {
+            final long blockers = AttackTables.between(king, firstSquare(snipers)) & this.occupied;
+            if (blockers != 0L && clearFirstSquare(blockers) == 0L) {
+                pinned |= blockers & getPieces(alliance);
+            }
+        }
+        return pinned;
+    }
+
+    // squares a non-king move has to land on: anywhere when not in check, the checker or a blocking
+    // square when in single check, nowhere in double check
+    public long checkMask(final Alliance alliance,
+                          final long checkers) {
+        if (checkers == 0L) {
+            return ~0L;
+        }
+        if (clearFirstSquare(checkers) != 0L) {
+            return 0L;
+        }
+        return checkers | AttackTables.between(kingSquare(alliance), firstSquare(checkers));
+    }
+
+    // legality of a pseudo legal move for the given pins and check mask, decided without playing it
+    public boolean isLegal(final int move,
+                           final Alliance mover,
+                           final long pinned,
+                           final long checkMask) {
+        final int origin = MoveEncoding.origin(move);
+        final int destination = MoveEncoding.destination(move);
+        final int king = kingSquare(mover);
+        if (origin == king) {
+            return MoveEncoding.isCastle(move) || isKingMoveSafe(mover, origin, destination);
+        }
+        if (MoveEncoding.flag(move) == MoveEncoding.EN_PASSANT) {
+            return isEnPassantLegal(mover, origin, destination);
+        }
+        return (checkMask & squareBit(destination)) != 0L &&
+                ((pinned & squareBit(origin)) == 0L || (AttackTables.line(king, origin) & squareBit(destination)) != 0L);
+    }
+
+    // decided on the occupancy after the move, so sliders behind the origin square give the discovered checks
+    public boolean givesCheck(final int move,
+                              final Alliance mover) {
+        final int origin = MoveEncoding.origin(move);
+        final int destination = MoveEncoding.destination(move);
+        final int flag = MoveEncoding.flag(move);
+        final long originBit = squareBit(origin);
+        final long destinationBit = squareBit(destination);
+        final long enemyKing = getPieces(opponent(mover), PieceType.KING);
+        if (enemyKing == 0L) {
+            return false;
+        }
+        final int king = firstSquare(enemyKing);
+        final PieceType movedType = MoveEncoding.isPromotion(move) ? MoveEncoding.promotionType(move) : pieceTypeAt(origin, mover);
+        final long queens = getPieces(mover, PieceType.QUEEN);
+        long diagonals = (getPieces(mover, PieceType.BISHOP) | queens) & ~originBit;
+        long lines = (getPieces(mover, PieceType.ROOK) | queens) & ~originBit;
+        long occupied = (this.occupied & ~originBit) | destinationBit;
+        switch (movedType) {
+            case PAWN:
+                if ((AttackTables.pawnAttacks(mover, destination) & enemyKing) != 0L) {
+                    return true;
+                }
+                if (flag == MoveEncoding.EN_PASSANT) {
+                    occupied &= ~squareBit(destination - mover.getDirection() * BoardUtils.NUM_TILES_PER_ROW);
+                }
+                break;
+            case KNIGHT:
+                if ((AttackTables.knightAttacks(destination) & enemyKing) != 0L) {
+                    return true;
+                }
+                break;
+            case BISHOP:
+                diagonals |= destinationBit;
+                break;
+            case ROOK:
+                lines |= destinationBit;
+                break;
+            case QUEEN:
+                diagonals |= destinationBit;
+                lines |= destinationBit;
+                break;
+            default:
+                if (MoveEncoding.isCastle(move)) {
+                    final boolean kingSide = flag == MoveEncoding.KING_SIDE_CASTLE;
+                    final long rookOrigin = squareBit(kingSide ? origin + 3 : origin - 4);
+                    final long rookDestination = squareBit(kingSide ? origin + 1 : origin - 1);
+                    lines = (lines & ~rookOrigin) | rookDestination;
+                    occupied = (occupied & ~rookOrigin) | rookDestination;
+                }
+                break;
+        }
+        return (MagicBitBoards.bishopAttacks(king, occupied) & diagonals) != 0L ||
+                (MagicBitBoards.rookAttacks(king, occupied) & lines) != 0L;
+    }
+
+    // material the mover can expect from the exchange the move starts on its destination, both sides always
+    // recapturing with their least valuable attacker and free to stop once carrying on would lose
+    public int staticExchange(final int move,
+                              final Alliance mover) {
+        final int origin = MoveEncoding.origin(move);
+        final int destination = MoveEncoding.destination(move);
+        final int[] gains = new int[MAX_EXCHANGES];
+        long occupied = this.occupied & ~squareBit(origin);
+        if (MoveEncoding.flag(move) == MoveEncoding.EN_PASSANT) {
+            occupied &= ~squareBit(destination - mover.getDirection() * BoardUtils.NUM_TILES_PER_ROW);
+            gains[0] = PieceType.PAWN.getPieceValue();
+        } else {
+            final PieceType captured = pieceTypeAt(destination, opponent(mover));
+            gains[0] = captured == null ? 0 : captured.getPieceValue();
+        }
+        int attackerValue = pieceTypeAt(origin, mover).getPieceValue();
+        if (MoveEncoding.isPromotion(move)) {
+            final int promotionGain = MoveEncoding.promotionType(move).getPieceValue() - PieceType.PAWN.getPieceValue();
+            gains[0] += promotionGain;
+            attackerValue += promotionGain;
+        }
+        final long diagonals = getPieces(PieceType.BISHOP) | getPieces(PieceType.QUEEN);
+        final long lines = getPieces(PieceType.ROOK) | getPieces(PieceType.QUEEN);
+        long attackers = (attackersOf(destination, Alliance.WHITE, occupied) | attackersOf(destination, Alliance.BLACK, occupied)) & occupied;
+        Alliance side = opponent(mover);
+        int depth = 0;
+        while (depth + 1 < MAX_EXCHANGES) {
+            final long sideAttackers = attackers & getPieces(side);
+            if (sideAttackers == 0L) {
+                break;
+            }
+            depth++;
+            gains[depth] = attackerValue - gains[depth - 1];
+            if (Math.max(-gains[depth - 1], gains[depth]) < 0) {
+                break;
+            }
+            for (final PieceType pieceType : PIECE_TYPES) {
+                final long candidates = sideAttackers & getPieces(side, pieceType);
+                if (candidates != 0L) {
+                    occupied &= ~squareBit(firstSquare(candidates));
+                    attackerValue = pieceType.getPieceValue();
+                    break;
+                }
+            }
+            // a capture can uncover a slider lined up behind the piece that made it
+            attackers = (attackers | (MagicBitBoards.bishopAttacks(destination, occupied) & diagonals) |
+                    (MagicBitBoards.rookAttacks(destination, occupied) & lines)) & occupied;
+            side = opponent(side);
+        }
+        while (depth > 0) {
+            gains[depth - 1] = -Math.max(-gains[depth - 1], gains[depth]);
+            depth--;
+        }
+        return gains[0];
+    }
+
+    private PieceType pieceTypeAt(final int square,
+                                  final Alliance alliance) {
+        final long bit = squareBit(square);
+        for (final PieceType pieceType : PIECE_TYPES) {
+            if ((getPieces(alliance, pieceType) & bit) != 0L) {
+                return pieceType;
+            }
+        }
+        return null;
+    }
+
+    // the king is lifted off the board first so sliders see through its origin square
+    public boolean isKingMoveSafe(final Alliance mover,
+                                  final int origin,
+                                  final int destination) {
+        return attackersOf(destination, opponent(mover), this.occupied & ~squareBit(origin)) == 0L;
+    }
+
+    // both pawns leave their squares at once, so replay the occupancy rather than trusting the pin masks
+    public boolean isEnPassantLegal(final Alliance mover,
+                                    final int origin,
+                                    final int destination) {
+        final long captured = squareBit(destination - mover.getDirection() * BoardUtils.NUM_TILES_PER_ROW);
+        final long occupied = (this.occupied & ~squareBit(origin) & ~captured) | squareBit(destination);
+        return (attackersOf(kingSquare(mover), opponent(mover), occupied) & ~captured) == 0L;
+    }
+
+    private long attackersOf(final int square,
+                             final Alliance attacker,
+                             final long occupied) {
+        final long queens = getPieces(attacker, PieceType.QUEEN);
+        return (AttackTables.pawnAttacks(opponent(attacker), square) & getPieces(attacker, PieceType.PAWN)) |
+                (AttackTables.knightAttacks(square) & getPieces(attacker, PieceType.KNIGHT)) |
+                (AttackTables.kingAttacks(square) & getPieces(attacker, PieceType.KING)) |
+                (MagicBitBoards.bishopAttacks(square, occupied) & (getPieces(attacker, PieceType.BISHOP) | queens)) |
+                (MagicBitBoards.rookAttacks(square, occupied) & (getPieces(attacker, PieceType.ROOK) | queens));
+    }
+
+    private static Alliance opponent(final Alliance alliance) {
+        return alliance.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+    }
+
+    void addPiece(final int pieceIndex,
+                  final int square) {
+        final long bit = squareBit(square);
+        this.pieceBoards[pieceIndex] |= bit;
+        this.allianceBoards[pieceIndex / NUM_PIECE_TYPES] |= bit;
+        this.occupied |= bit;
+    }
+
+    void removePiece(final int pieceIndex,
+                     final int square) {
+        final long bit = ~squareBit(square);
+        this.pieceBoards[pieceIndex] &= bit;
+        this.allianceBoards[pieceIndex / NUM_PIECE_TYPES] &= bit;
+        this.occupied &= bit;
+    }
+
+    public static int pieceIndex(final Alliance alliance,
+                                 final PieceType pieceType) {
+        return alliance.ordinal() * NUM_PIECE_TYPES + pieceType.ordinal();
+    }
+
+    public static long squareBit(final int square) {
+        return 1L << square;
+    }
+
+    public static int bitCount(final long bitBoard) {
+        return Long.bitCount(bitBoard);
+    }
+
+    public static int firstSquare(final long bitBoard) {
+        return Long.numberOfTrailingZeros(bitBoard);
+    }
+
+    public static long clearFirstSquare(final long bitBoard) {
+        return bitBoard & (bitBoard - 1);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            builder.append(isOccupied(i) ? " 1" : " .");
+            if ((i + 1) % BoardUtils.NUM_TILES_PER_ROW == 0) {
+                builder.append("\n");
+            }
+        }
+        return builder.toString();
+    }
+
+}
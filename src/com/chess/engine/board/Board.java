@@ -1,7 +1,6 @@
 package com.chess.engine.board;
 
 import com.chess.engine.Alliance;
-import com.chess.engine.board.Move.MoveFactory;
 import com.chess.engine.pieces.*;
 import com.chess.engine.player.BlackPlayer;
 import com.chess.engine.player.Player;
@@ -13,7 +12,14 @@ import java.util.*;
 
 public class Board {
 
-    private final List<Tile> gameBoard;
+    static final int WHITE_KING_SIDE = 1;
+    static final int WHITE_QUEEN_SIDE = 2;
+    static final int BLACK_KING_SIDE = 4;
+    static final int BLACK_QUEEN_SIDE = 8;
+    static final int NO_EN_PASSANT = -1;
+
+    private final Piece[] boardConfig;
+    private final BitBoard bitBoard;
     private final Collection<Piece> whitePieces;
     private final Collection<Piece> blackPieces;
 
@@ -21,28 +27,39 @@ public class Board {
     private final BlackPlayer blackPlayer;
     private final Player currentPlayer;
     private final Pawn enPassantPawn;
-    private final Move transitionMove;
+    private final PositionHistory history;
+    private final int castlingRights;
+    private final int enPassantSquare;
+    private final long zobristKey;
+    private final long pawnKey;
+    private Collection<Move> whitePieceMoves;
+    private Collection<Move> blackPieceMoves;
 
     public Board(final Builder builder) {
-        this.gameBoard = createGameBoard(builder);
-        this.whitePieces = calculateActivePieces(this.gameBoard, Alliance.WHITE);
-        this.blackPieces = calculateActivePieces(this.gameBoard, Alliance.BLACK);
-
-        final Collection<Move> whiteLegalMoves = calculateLegalMoves(this.whitePieces);
-        final Collection<Move> blackLegalMoves = calculateLegalMoves(this.blackPieces);
-
-        this.whitePlayer = new WhitePlayer(this, whiteLegalMoves, blackLegalMoves);
-        this.blackPlayer = new BlackPlayer(this, whiteLegalMoves, blackLegalMoves);
-        this.currentPlayer = builder.next.choosePlayerByAlliance(this.whitePlayer, this.blackPlayer);
+        this.boardConfig = builder.boardConfig.clone();
+        this.bitBoard = new BitBoard(builder.bitBoard);
+        this.whitePieces = calculateActivePieces(Alliance.WHITE);
+        this.blackPieces = calculateActivePieces(Alliance.BLACK);
         this.enPassantPawn = builder.enPassantPawn;
-        this.transitionMove = builder.transitionMove != null ? builder.transitionMove : MoveFactory.getNullMove();
+        this.castlingRights = calculateCastlingRights(Alliance.WHITE, 60, WHITE_KING_SIDE, WHITE_QUEEN_SIDE) |
+                calculateCastlingRights(Alliance.BLACK, 4, BLACK_KING_SIDE, BLACK_QUEEN_SIDE);
+        this.enPassantSquare = this.enPassantPawn != null && this.enPassantPawn.getPieceAlliance() != builder.next ?
+                this.enPassantPawn.getPiecePosition() - (this.enPassantPawn.getPieceAlliance().getDirection() * 8) : NO_EN_PASSANT;
+        this.zobristKey = builder.zobristKey ^ Zobrist.sideKey(builder.next) ^
+                Zobrist.castlingKey(this.castlingRights) ^ Zobrist.enPassantKey(this.bitBoard, this.enPassantSquare, builder.next);
+        this.pawnKey = builder.pawnKey;
+        this.history = calculateHistory(builder, this.zobristKey);
+
+        this.whitePlayer = new WhitePlayer(this);
+        this.blackPlayer = new BlackPlayer(this);
+        this.currentPlayer = builder.next.choosePlayerByAlliance(this.whitePlayer, this.blackPlayer);
     }
 
     @Override
     public String toString() {
         final StringBuilder builder = new StringBuilder();
         for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
-            final String tileText = this.gameBoard.get(i).toString();
+            final String tileText = getTile(i).toString();
             builder.append(String.format("%3s", tileText));
             if ((i + 1) % BoardUtils.NUM_TILES_PER_ROW == 0) {
                 builder.append("\n");
@@ -63,8 +80,24 @@ public class Board {
         return enPassantPawn;
     }
 
-    Move getTransitionMove() {
-        return this.transitionMove;
+    public PositionHistory getHistory() {
+        return this.history;
+    }
+
+    public long zobristKey() {
+        return this.zobristKey;
+    }
+
+    public long pawnKey() {
+        return this.pawnKey;
+    }
+
+    int getCastlingRights() {
+        return this.castlingRights;
+    }
+
+    int getEnPassantSquare() {
+        return this.enPassantSquare;
     }
 
     public Collection<Piece> getBlackPieces() {
@@ -87,33 +120,64 @@ public class Board {
         return ImmutableList.copyOf(legalMoves);
     }
 
-    private Collection<Piece> calculateActivePieces(final List<Tile> gameBoard, final Alliance alliance) {
-        final List<Piece> activePieces = new ArrayList<>();
-        for (final Tile tile : gameBoard) {
-            if (tile.occupied()) {
-                final Piece piece = tile.getPiece();
-                if (piece.getPieceAlliance() == alliance) {
-                    activePieces.add(piece);
-                }
-            }
+    // a side keeps a castling right while its king and that rook have never moved
+    private int calculateCastlingRights(final Alliance alliance,
+                                        final int kingHome,
+                                        final int kingSide,
+                                        final int queenSide) {
+        final Piece piece = this.boardConfig[kingHome];
+        if (!(piece instanceof King) || piece.getPieceAlliance() != alliance || !piece.isFirstMove()) {
+            return 0;
+        }
+        final King king = (King) piece;
+        int rights = 0;
+        if (king.isKingSideCastleCapable() && isUnmovedRook(this.boardConfig[kingHome + 3], alliance)) {
+            rights |= kingSide;
+        }
+        if (king.isQueenSideCastleCapable() && isUnmovedRook(this.boardConfig[kingHome - 4], alliance)) {
+            rights |= queenSide;
+        }
+        return rights;
+    }
+
+    private static boolean isUnmovedRook(final Piece piece,
+                                         final Alliance alliance) {
+        return piece != null && piece.getPieceType() == Piece.PieceType.ROOK &&
+                piece.getPieceAlliance() == alliance && piece.isFirstMove();
+    }
+
+    private Collection<Piece> calculateActivePieces(final Alliance alliance) {
+        final Piece[] activePieces = new Piece[BitBoard.bitCount(this.bitBoard.getPieces(alliance))];
+        int i = 0;
+        for (long pieces = this.bitBoard.getPieces(alliance); pieces != 0L; pieces = BitBoard.clearFirstSquare(pieces)) {
+            activePieces[i++] = this.boardConfig[BitBoard.firstSquare(pieces)];
         }
         return ImmutableList.copyOf(activePieces);
     }
 
-    public Tile getTile(final int coordinate) {
-        return gameBoard.get(coordinate);
+    public BitBoard getBitBoard() {
+        return this.bitBoard;
     }
 
-    public Piece getTilePiece(final int coordinate) {
-        return gameBoard.get(coordinate).getPiece();
+    public boolean isSquareAttacked(final int coordinate,
+                                    final Alliance attacker) {
+        return this.bitBoard.isSquareAttacked(coordinate, attacker);
     }
 
-    private static List<Tile> createGameBoard(final Builder builder) {
-        final Tile[] tiles = new Tile[BoardUtils.NUM_TILES];
-        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
-            tiles[i] = Tile.createTile(i, builder.boardConfig.get(i));
+    public Collection<Piece> attackersOf(final int coordinate) {
+        final List<Piece> attackers = new ArrayList<>();
+        for (long pieces = this.bitBoard.attackersOf(coordinate); pieces != 0L; pieces = BitBoard.clearFirstSquare(pieces)) {
+            attackers.add(this.boardConfig[BitBoard.firstSquare(pieces)]);
         }
-        return ImmutableList.copyOf(tiles);
+        return ImmutableList.copyOf(attackers);
+    }
+
+    public Tile getTile(final int coordinate) {
+        return Tile.createTile(coordinate, this.boardConfig[coordinate]);
+    }
+
+    public Piece getTilePiece(final int coordinate) {
+        return this.boardConfig[coordinate];
     }
 
     public static Board createStandardBoard() {
@@ -159,21 +223,43 @@ public class Board {
     }
 
     Collection<Move> getAllLegalMoves() {
-        Collection<Move> moves = new ArrayList<>(calculateLegalMoves(this.calculateActivePieces(this.gameBoard, this.currentPlayer().getOpponent().getAlliance())));
-        moves.addAll(calculateLegalMoves(this.calculateActivePieces(this.gameBoard, this.currentPlayer().getAlliance())));
-        moves.addAll(this.currentPlayer.calculateKingCastles(getLegalMoves(), getOpponentMoves()));
-        moves.addAll(this.currentPlayer.getOpponent().calculateKingCastles(getLegalMoves(), getOpponentMoves()));
+        final Collection<Move> moves = new ArrayList<>(getOpponentMoves());
+        moves.addAll(getLegalMoves());
+        moves.addAll(this.currentPlayer.getOpponent().calculateKingCastles(getOpponentMoves()));
         return moves;
     }
 
     public Collection<Move> getLegalMoves() {
-        Collection<Move> moves =  new ArrayList<>(calculateLegalMoves(this.calculateActivePieces(this.gameBoard, this.currentPlayer().getAlliance())));
-        moves.addAll(this.currentPlayer.calculateKingCastles(moves, getOpponentMoves()));
-        return moves;
+        return this.currentPlayer.getLegalMoves();
     }
 
     public Collection<Move> getOpponentMoves() {
-        return new ArrayList<>(calculateLegalMoves(this.calculateActivePieces(this.gameBoard, this.currentPlayer().getOpponent().getAlliance())));
+        return getPieceMoves(this.currentPlayer.getOpponent().getAlliance());
+    }
+
+    // moves of the alliance's pieces without castles, generated on first use and kept for the board's lifetime
+    public Collection<Move> getPieceMoves(final Alliance alliance) {
+        if (alliance.isWhite()) {
+            if (this.whitePieceMoves == null) {
+                this.whitePieceMoves = calculateLegalMoves(this.whitePieces);
+            }
+            return this.whitePieceMoves;
+        }
+        if (this.blackPieceMoves == null) {
+            this.blackPieceMoves = calculateLegalMoves(this.blackPieces);
+        }
+        return this.blackPieceMoves;
+    }
+
+    // only the keys and counters of earlier positions are kept, never the boards or moves themselves
+    private static PositionHistory calculateHistory(final Builder builder,
+                                                    final long zobristKey) {
+        final Move move = builder.transitionMove;
+        if (move != null) {
+            return move.getBoard().history.next(zobristKey,
+                    move.isAttack() || move.getMovedPiece().getPieceType() == Piece.PieceType.PAWN);
+        }
+        return builder.history != null ? builder.history : PositionHistory.startingFrom(zobristKey);
     }
 
     public Player currentPlayer() {
@@ -182,17 +268,49 @@ public class Board {
 
     public static class Builder {
 
-        final Map<Integer, Piece> boardConfig;
+        final Piece[] boardConfig;
+        final BitBoard bitBoard;
+        long zobristKey;
+        long pawnKey;
         Alliance next;
         Pawn enPassantPawn;
         Move transitionMove;
+        PositionHistory history;
 
         public Builder() {
-            this.boardConfig = new HashMap<>();
+            this.boardConfig = new Piece[BoardUtils.NUM_TILES];
+            this.bitBoard = new BitBoard();
+        }
+
+        // starts from the board's pieces, piece keys and history; side to move, en passant and transition are not carried over
+        Builder(final Board board) {
+            this.boardConfig = board.boardConfig.clone();
+            this.bitBoard = new BitBoard(board.bitBoard);
+            this.zobristKey = board.zobristKey ^ Zobrist.sideKey(board.currentPlayer.getAlliance()) ^
+                    Zobrist.castlingKey(board.castlingRights) ^
+                    Zobrist.enPassantKey(board.bitBoard, board.enPassantSquare, board.currentPlayer.getAlliance());
+            this.pawnKey = board.pawnKey;
+            this.history = board.history;
         }
 
         public void setPiece(final Piece piece) {
-            this.boardConfig.put(piece.getPiecePosition(), piece);
+            final int position = piece.getPiecePosition();
+            final Piece replaced = this.boardConfig[position];
+            if (replaced != null) {
+                removePiece(replaced);
+            }
+            this.boardConfig[position] = piece;
+            this.bitBoard.addPiece(BitBoard.pieceIndex(piece.getPieceAlliance(), piece.getPieceType()), position);
+            this.zobristKey ^= Zobrist.pieceKey(piece);
+            this.pawnKey ^= Zobrist.pawnKey(piece);
+        }
+
+        void removePiece(final Piece piece) {
+            final int position = piece.getPiecePosition();
+            this.boardConfig[position] = null;
+            this.bitBoard.removePiece(BitBoard.pieceIndex(piece.getPieceAlliance(), piece.getPieceType()), position);
+            this.zobristKey ^= Zobrist.pieceKey(piece);
+            this.pawnKey ^= Zobrist.pawnKey(piece);
         }
 
         public void setMoveMaker(final Alliance next) {
@@ -3,7 +3,6 @@ package com.chess.engine.board;
 import com.chess.engine.board.Move.MoveFactory;
 import com.chess.engine.pieces.King;
 import com.chess.engine.pieces.Piece;
-import com.chess.engine.player.MoveTransition;
 
 import java.util.*;
 
@@ -91,9 +90,9 @@ public class BoardUtils {
     }
 
     public static boolean kingThreat(final Move move) {
-        final Board board = move.getBoard();
-        final MoveTransition transition = board.currentPlayer().makeMove(move);
-        return transition.getToBoard().currentPlayer().isInCheck();
+        final int encoded = MoveEncoding.encode(move);
+        return encoded != MoveEncoding.NO_MOVE &&
+                move.getBoard().getBitBoard().givesCheck(encoded, move.getMovedPiece().getPieceAlliance());
     }
 
 
@@ -116,21 +115,22 @@ public class BoardUtils {
         return Piece.PieceType.KING.getPieceValue() - movingPiece.getPieceValue();
     }
 
-    public static List<Move> lastNMoves(final Board board, int N) {
-        final List<Move> moveHistory = new ArrayList<>();
-        Move currentMove = board.getTransitionMove();
-        int i = 0;
-        while (currentMove != MoveFactory.getNullMove() && i < N) {
-            moveHistory.add(currentMove);
-            currentMove = currentMove.getBoard().getTransitionMove();
-            i++;
+    public static int mvvlva(final SearchBoard board,
+                             final int move) {
+        final int movingPieceValue = SearchBoard.pieceType(board.getMovedPiece(move)).getPieceValue();
+        if (MoveEncoding.isCapture(move)) {
+            final int attackedPieceValue = SearchBoard.pieceType(board.getCapturedPiece(move)).getPieceValue();
+            return (attackedPieceValue - movingPieceValue + Piece.PieceType.KING.getPieceValue()) * 100;
         }
-        return Collections.unmodifiableList(moveHistory);
+        return Piece.PieceType.KING.getPieceValue() - movingPieceValue;
     }
 
     public static boolean isEndGame(final Board board) {
-        return board.currentPlayer().isInCheckMate() ||
-                board.currentPlayer().isInStaleMate();
+        return !board.currentPlayer().hasLegalMove();
+    }
+
+    public static boolean isEndGame(final SearchBoard board) {
+        return !board.hasLegalMove();
     }
 }
 
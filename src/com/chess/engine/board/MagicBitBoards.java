@@ -0,0 +1,152 @@
+package com.chess.engine.board;
+
+public final class MagicBitBoards {
+
+    private static final long[] ROOK_MAGICS = {
+            0x008008816090C000L, 0x0040004010002000L, 0x1200084200208010L, 0x0880100008000580L,
+            0x0100040800100300L, 0x4A00143810020001L, 0x0C00100221408408L, 0x0100008026114100L,
+            0x18028002A081C000L, 0x0040401000200040L, 0x8010801000802000L, 0x8200808010000800L,
+            0x0090800400800800L, 0x8000800200040080L, 0x0044000102088410L, 0x8030800100006080L,
+            0x2214208004400080L, 0x000021004001008AL, 0x8005120022418200L, 0x1008010100201000L,
+            0x8002020020081004L, 0x0000808004000200L, 0x4306040008011042L, 0x0000020000804104L,
+            0x0040800080204000L, 0x0030200080400080L, 0xC000200880100080L, 0x0083030900201000L,
+            0x0118041100080100L, 0x0000020080800400L, 0x0010010400024810L, 0x0051800080204100L,
+            0x0C00400221800080L, 0x4240401000402000L, 0x1144284202001180L, 0x4200100009002102L,
+            0x0426002006001008L, 0x0000800200800400L, 0x00C051508C000208L, 0x1482800060801100L,
+            0x248B400025808000L, 0x0110002000404009L, 0x0600200041010010L, 0x0050100008008080L,
+            0xA080080004008080L, 0x0C00020004008080L, 0x0050010002008080L, 0x06C0040282420019L,
+            0x000541012A108200L, 0x0520008020400180L, 0x0802004820108200L, 0x0410220012094200L,
+            0x00080101A80C3100L, 0x012DA04010444801L, 0x0101000200040100L, 0x0008040041208200L,
+            0x0040800104201643L, 0x0640018125041241L, 0x000242001022800AL, 0x0002882085001001L,
+            0x4081001048000205L, 0x8041000400080203L, 0x0082011800821044L, 0x1010008064004312L
+    };
+
+    private static final long[] BISHOP_MAGICS = {
+            0x1010048084004200L, 0x0050250852828000L, 0x1008089411800021L, 0x0C24440080000111L,
+            0x0404042000001001L, 0x804A084404400040L, 0x010E020202410000L, 0x40050400849410A0L,
+            0x2001200901080080L, 0x0180080808008820L, 0x4044448404004010L, 0x8004841042000000L,
+            0x01010C03080402C4L, 0x0020108821080100L, 0x9000008811882048L, 0x0000108880B01000L,
+            0x1110910420021400L, 0x2950000922008401L, 0x2028901004001020L, 0x9004004802400990L,
+            0x000C002088A0000AL, 0x0401000201010168L, 0xA022000422010400L, 0x8000208044141410L,
+            0x8894840052101028L, 0x1001100058304500L, 0x0110300102140041L, 0x00C600600E008200L,
+            0x3000848044002000L, 0x0801020000405000L, 0x8404010080980114L, 0x2101004206006400L,
+            0x0009344002111002L, 0x04041008802D0100L, 0x0600220800110800L, 0x08001008200C0400L,
+            0x0040004010410100L, 0x0010500940428042L, 0x0008080040010140L, 0x0000A10844A20200L,
+            0x200208A008020411L, 0x0004008884004808L, 0x8012101808080400L, 0x200C0A2011000801L,
+            0x2002213024004880L, 0x006040910A000040L, 0x2020410C02804300L, 0x9401020400420118L,
+            0x080090A410C00002L, 0x00C8484808080000L, 0x0048804200908160L, 0x0300000420880080L,
+            0x00800C0410440202L, 0x0000040488120C00L, 0x8422221421040001L, 0x8020081901003080L,
+            0x0000208400884008L, 0x8000902088280820L, 0x1400080200940408L, 0xC400080980208820L,
+            0x9400140006B04400L, 0x0D00404130020482L, 0x0190229202420C00L, 0x5042140904040082L
+    };
+
+    private static final int[][] ROOK_DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+    private static final int[][] BISHOP_DIRECTIONS = {{-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
+
+    private static final MagicTable ROOK_TABLE = new MagicTable(ROOK_MAGICS, ROOK_DIRECTIONS);
+    private static final MagicTable BISHOP_TABLE = new MagicTable(BISHOP_MAGICS, BISHOP_DIRECTIONS);
+
+    private MagicBitBoards() {
+        throw new RuntimeException("Not Instantiable!");
+    }
+
+    public static long rookAttacks(final int square,
+                                   final long occupied) {
+        return ROOK_TABLE.attacks(square, occupied);
+    }
+
+    public static long bishopAttacks(final int square,
+                                     final long occupied) {
+        return BISHOP_TABLE.attacks(square, occupied);
+    }
+
+    public static long queenAttacks(final int square,
+                                    final long occupied) {
+        return ROOK_TABLE.attacks(square, occupied) | BISHOP_TABLE.attacks(square, occupied);
+    }
+
+    private static final class MagicTable {
+
+        private final long[] magics;
+        private final long[] masks;
+        private final int[] shifts;
+        private final int[] offsets;
+        private final long[] attacks;
+
+        MagicTable(final long[] magics,
+                   final int[][] directions) {
+            this.magics = magics;
+            this.masks = new long[BoardUtils.NUM_TILES];
+            this.shifts = new int[BoardUtils.NUM_TILES];
+            this.offsets = new int[BoardUtils.NUM_TILES];
+            int tableSize = 0;
+            for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+                this.masks[square] = relevantOccupancy(square, directions);
+                this.shifts[square] = Long.SIZE - BitBoard.bitCount(this.masks[square]);
+                this.offsets[square] = tableSize;
+                tableSize += 1 << BitBoard.bitCount(this.masks[square]);
+            }
+            this.attacks = new long[tableSize];
+            for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+                final long mask = this.masks[square];
+                long subset = 0L;
+                do {
+                    this.attacks[index(square, subset)] = slidingAttacks(square, subset, directions);
+                    subset = (subset - mask) & mask;
+                } while (subset != 0L);
+            }
+        }
+
+        long attacks(final int square,
+                     final long occupied) {
+            return this.attacks[index(square, occupied)];
+        }
+
+        private int index(final int square,
+                          final long occupied) {
+            return this.offsets[square] + (int) (((occupied & this.masks[square]) * this.magics[square]) >>> this.shifts[square]);
+        }
+
+        // the edge square of each ray never blocks anything beyond it, so it is left out of the mask
+        private static long relevantOccupancy(final int square,
+                                              final int[][] directions) {
+            long mask = 0L;
+            for (final int[] direction : directions) {
+                int row = square / BoardUtils.NUM_TILES_PER_ROW + direction[0];
+                int column = square % BoardUtils.NUM_TILES_PER_ROW + direction[1];
+                while (isOnBoard(row + direction[0], column + direction[1])) {
+                    mask |= BitBoard.squareBit(row * BoardUtils.NUM_TILES_PER_ROW + column);
+                    row += direction[0];
+                    column += direction[1];
+                }
+            }
+            return mask;
+        }
+
+        private static long slidingAttacks(final int square,
+                                           final long occupied,
+                                           final int[][] directions) {
+            long attacks = 0L;
+            for (final int[] direction : directions) {
+                int row = square / BoardUtils.NUM_TILES_PER_ROW + direction[0];
+                int column = square % BoardUtils.NUM_TILES_PER_ROW + direction[1];
+                while (isOnBoard(row, column)) {
+                    final long bit = BitBoard.squareBit(row * BoardUtils.NUM_TILES_PER_ROW + column);
+                    attacks |= bit;
+                    if ((occupied & bit) != 0L) {
+                        break;
+                    }
+                    row += direction[0];
+                    column += direction[1];
+                }
+            }
+            return attacks;
+        }
+
+        private static boolean isOnBoard(final int row,
+                                         final int column) {
+            return row >= 0 && row < BoardUtils.NUM_TILES_PER_ROW && column >= 0 && column < BoardUtils.NUM_TILES_PER_ROW;
+        }
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.chess.engine.board;
+
+import com.chess.engine.board.Move.CastleMove;
+import com.chess.engine.board.Move.MoveFactory;
+import com.chess.engine.board.Move.PawnEnPassantAttackMove;
+import com.chess.engine.board.Move.PawnJump;
+import com.chess.engine.board.Move.PawnPromotion;
+import com.chess.engine.pieces.Piece.PieceType;
+
+public final class MoveEncoding {
+
+    public static final int NO_MOVE = 0;
+
+    public static final int QUIET = 0;
+    public static final int PAWN_JUMP = 1;
+    public static final int CAPTURE = 2;
+    public static final int EN_PASSANT = 3;
+    public static final int KING_SIDE_CASTLE = 4;
+    public static final int QUEEN_SIDE_CASTLE = 5;
+    public static final int PROMOTION = 6;
+    public static final int PROMOTION_CAPTURE = 7;
+
+    // bits 0-5 origin, 6-11 destination, 12-14 flag, 15-17 promotion piece type
+    private static final int SQUARE_MASK = 0x3F;
+    private static final int FLAG_MASK = 0x7;
+    private static final int DESTINATION_SHIFT = 6;
+    private static final int FLAG_SHIFT = 12;
+    private static final int PROMOTION_SHIFT = 15;
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    private MoveEncoding() {
+        throw new RuntimeException("Not Instantiable!");
+    }
+
+    public static int encode(final int origin,
+                             final int destination,
+                             final int flag) {
+        return origin | (destination << DESTINATION_SHIFT) | (flag << FLAG_SHIFT);
+    }
+
+    public static int encode(final int origin,
+                             final int destination,
+                             final int flag,
+                             final PieceType promotionType) {
+        return encode(origin, destination, flag) | (promotionType.ordinal() << PROMOTION_SHIFT);
+    }
+
+    public static int encode(final Move move) {
+        if (move == MoveFactory.getNullMove() || move.getMovedPiece() == null) {
+            return NO_MOVE;
+        }
+        final int origin = move.getCurrent();
+        final int destination = move.getDestination();
+        if (move instanceof PawnPromotion) {
+            return encode(origin, destination, move.isAttack() ? PROMOTION_CAPTURE : PROMOTION,
+                    ((PawnPromotion) move).promotionPiece.getPieceType());
+        }
+        if (move instanceof CastleMove) {
+            return encode(origin, destination, destination > origin ? KING_SIDE_CASTLE : QUEEN_SIDE_CASTLE);
+        }
+        if (move instanceof PawnEnPassantAttackMove) {
+            return encode(origin, destination, EN_PASSANT);
+        }
+        if (move instanceof PawnJump) {
+            return encode(origin, destination, PAWN_JUMP);
+        }
+        return encode(origin, destination, move.isAttack() ? CAPTURE : QUIET);
+    }
+
+    public static Move decode(final Board board,
+                              final int move) {
+        if (move == NO_MOVE) {
+            return MoveFactory.getNullMove();
+        }
+        return MoveFactory.createMove(board, origin(move), destination(move));
+    }
+
+    public static int origin(final int move) {
+        return move & SQUARE_MASK;
+    }
+
+    public static int destination(final int move) {
+        return (move >>> DESTINATION_SHIFT) & SQUARE_MASK;
+    }
+
+    public static int flag(final int move) {
+        return (move >>> FLAG_SHIFT) & FLAG_MASK;
+    }
+
+    public static PieceType promotionType(final int move) {
+        return PIECE_TYPES[move >>> PROMOTION_SHIFT];
+    }
+
+    public static boolean isCapture(final int move) {
+        final int flag = flag(move);
+        return flag == CAPTURE || flag == EN_PASSANT || flag == PROMOTION_CAPTURE;
+    }
+
+    public static boolean isCastle(final int move) {
+        final int flag = flag(move);
+        return flag == KING_SIDE_CASTLE || flag == QUEEN_SIDE_CASTLE;
+    }
+
+    public static boolean isPromotion(final int move) {
+        return flag(move) >= PROMOTION;
+    }
+
+    public static String toString(final int move) {
+        if (move == NO_MOVE) {
+            return "-";
+        }
+        final String text = BoardUtils.getPositionAtCoordinate(origin(move)) + BoardUtils.getPositionAtCoordinate(destination(move));
+        return isPromotion(move) ? text + "=" + promotionType(move) : text;
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.chess.engine.board;
+
+public final class MoveList {
+
+    public static final int MAX_MOVES = 256;
+
+    private final int[] moves;
+    private final int[] scores;
+    private int size;
+
+    public MoveList() {
+        this.moves = new int[MAX_MOVES];
+        this.scores = new int[MAX_MOVES];
+        this.size = 0;
+    }
+
+    public void add(final int move) {
+        this.moves[this.size++] = move;
+    }
+
+    public int get(final int index) {
+        return this.moves[index];
+    }
+
+    public int getScore(final int index) {
+        return this.scores[index];
+    }
+
+    public void setScore(final int index,
+                         final int score) {
+        this.scores[index] = score;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public void clear() {
+        this.size = 0;
+    }
+
+    public boolean contains(final int move) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.moves[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // one step of a selection sort: brings the best scored move at or after index to index and returns it
+    public int selectBest(final int index) {
+        int best = index;
+        for (int i = index + 1; i < this.size; i++) {
+            if (this.scores[i] > this.scores[best]) {
+                best = i;
+            }
+        }
+        final int move = this.moves[best];
+        final int score = this.scores[best];
+        this.moves[best] = this.moves[index];
+        this.scores[best] = this.scores[index];
+        this.moves[index] = move;
+        this.scores[index] = score;
+        return move;
+    }
+
+    // stable insertion sort on the scores, highest first; equal scores keep generation order
+    public void sort() {
+        for (int i = 1; i < this.size; i++) {
+            final int move = this.moves[i];
+            final int score = this.scores[i];
+            int j = i - 1;
+            while (j >= 0 && this.scores[j] < score) {
+                this.moves[j + 1] = this.moves[j];
+                this.scores[j + 1] = this.scores[j];
+                j--;
+            }
+            this.moves[j + 1] = move;
+            this.scores[j + 1] = score;
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < this.size; i++) {
+            builder.append(i == 0 ? "" : ", ").append(MoveEncoding.toString(this.moves[i]));
+        }
+        return builder.append("]").toString();
+    }
+
+}
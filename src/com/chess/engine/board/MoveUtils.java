@@ -1,18 +1,15 @@
 package com.chess.engine.board;
 
-import static com.chess.engine.board.Move.*;
-
 public enum MoveUtils {
 
     INSTANCE;
 
+    // static exchange evaluation of the move on the board it was made from
     public static int exchangeScore(final Move move) {
-        if(move == Move.MoveFactory.getNullMove()) {
-            return 1;
+        final int encoded = MoveEncoding.encode(move);
+        if(encoded == MoveEncoding.NO_MOVE) {
+            return 0;
         }
-        return move.isAttack() ?
-                5 * exchangeScore(move.getBoard().getTransitionMove()) :
-                exchangeScore(move.getBoard().getTransitionMove());
-
+        return move.getBoard().getBitBoard().staticExchange(encoded, move.getMovedPiece().getPieceAlliance());
     }
 }
@@ -0,0 +1,82 @@
+package com.chess.engine.board;
+
+public final class PositionHistory {
+
+    static final int FIFTY_MOVE_PLIES = 100;
+    private static final int THREEFOLD = 3;
+
+    private final long zobristKey;
+    private final int halfmoveClock;
+    private final int repetitions;
+    // positions before the last capture or pawn move can never repeat, so the link is dropped there
+    private final PositionHistory previous;
+
+    private PositionHistory(final long zobristKey,
+                            final int halfmoveClock,
+                            final PositionHistory previous) {
+        this.zobristKey = zobristKey;
+        this.halfmoveClock = halfmoveClock;
+        this.previous = previous;
+        this.repetitions = countRepetitions();
+    }
+
+    static PositionHistory startingFrom(final long zobristKey) {
+        return new PositionHistory(zobristKey, 0, null);
+    }
+
+    PositionHistory next(final long zobristKey,
+                         final boolean irreversible) {
+        return new PositionHistory(zobristKey, irreversible ? 0 : this.halfmoveClock + 1, irreversible ? null : this);
+    }
+
+    public long zobristKey() {
+        return this.zobristKey;
+    }
+
+    public int getHalfmoveClock() {
+        return this.halfmoveClock;
+    }
+
+    // occurrences of this position since the last irreversible move, this one included
+    public int getRepetitions() {
+        return this.repetitions;
+    }
+
+    public boolean isRepetition() {
+        return this.repetitions > 1;
+    }
+
+    public boolean isThreefoldRepetition() {
+        return this.repetitions >= THREEFOLD;
+    }
+
+    public boolean isFiftyMoveDraw() {
+        return this.halfmoveClock >= FIFTY_MOVE_PLIES;
+    }
+
+    // looks for the key firstPly, firstPly + 2, ... plies back, going no further than maxPly
+    boolean hasOccurred(final long zobristKey,
+                        final int firstPly,
+                        final int maxPly) {
+        PositionHistory position = this;
+        for (int ply = 0; position != null && ply <= maxPly; ply++, position = position.previous) {
+            if (ply >= firstPly && (ply - firstPly) % 2 == 0 && position.zobristKey == zobristKey) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // the same side is to move only every other ply, and the earlier match already counted its own repeats
+    private int countRepetitions() {
+        PositionHistory position = this.previous != null ? this.previous.previous : null;
+        while (position != null) {
+            if (position.zobristKey == this.zobristKey) {
+                return position.repetitions + 1;
+            }
+            position = position.previous != null ? position.previous.previous : null;
+        }
+        return 1;
+    }
+
+}
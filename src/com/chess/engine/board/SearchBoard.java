@@ -0,0 +1,656 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
+
+import java.util.Arrays;
+
+import static com.chess.engine.board.MoveEncoding.*;
+
+public final class SearchBoard {
+
+    public static final int MAX_PLY = 256;
+    public static final int EMPTY = -1;
+
+    private static final int WHITE_KING_SIDE = Board.WHITE_KING_SIDE;
+    private static final int WHITE_QUEEN_SIDE = Board.WHITE_QUEEN_SIDE;
+    private static final int BLACK_KING_SIDE = Board.BLACK_KING_SIDE;
+    private static final int BLACK_QUEEN_SIDE = Board.BLACK_QUEEN_SIDE;
+    private static final int[] CASTLING_MASKS = initCastlingMasks();
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+    private static final Alliance[] ALLIANCES = Alliance.values();
+    private static final byte UNKNOWN = 0;
+    private static final byte HAS_LEGAL_MOVE = 1;
+    private static final byte NO_LEGAL_MOVE = 2;
+    // promotions are generated with the captures, castling with the quiet moves
+    private static final int CAPTURES = 1;
+    private static final int QUIETS = 2;
+    private static final int ALL_MOVES = CAPTURES | QUIETS;
+
+    private final BitBoard bitBoard;
+    private final PositionHistory rootHistory;
+    private final int[] mailbox;
+    private final MoveList scratchMoves;
+    private Alliance moveMaker;
+    private int castlingRights;
+    private int castled;
+    private int enPassantSquare;
+    private int halfmoveClock;
+    private long zobristKey;
+    private long pawnKey;
+    private int ply;
+
+    private final int[] moveHistory;
+    private final int[] capturedHistory;
+    private final int[] castlingHistory;
+    private final int[] castledHistory;
+    private final int[] enPassantHistory;
+    private final long[] zobristHistory;
+    private final long[] pawnKeyHistory;
+    private final int[] halfmoveHistory;
+    private final byte[] legalMoveStates;
+
+    public SearchBoard(final Board board) {
+        this.bitBoard = new BitBoard();
+        this.mailbox = new int[BoardUtils.NUM_TILES];
+        this.scratchMoves = new MoveList();
+        this.moveHistory = new int[MAX_PLY];
+        this.capturedHistory = new int[MAX_PLY];
+        this.castlingHistory = new int[MAX_PLY];
+        this.castledHistory = new int[MAX_PLY];
+        this.enPassantHistory = new int[MAX_PLY];
+        this.zobristHistory = new long[MAX_PLY];
+        this.pawnKeyHistory = new long[MAX_PLY];
+        this.halfmoveHistory = new int[MAX_PLY];
+        this.legalMoveStates = new byte[MAX_PLY + 1];
+        for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+            final Piece piece = board.getTilePiece(square);
+            this.mailbox[square] = piece != null ? BitBoard.pieceIndex(piece.getPieceAlliance(), piece.getPieceType()) : EMPTY;
+            if (piece != null) {
+                this.bitBoard.addPiece(this.mailbox[square], square);
+            }
+        }
+        this.moveMaker = board.currentPlayer().getAlliance();
+        this.castlingRights = board.getCastlingRights();
+        this.castled = (board.whitePlayer().isCastled() ? 1 : 0) | (board.blackPlayer().isCastled() ? 2 : 0);
+        this.enPassantSquare = board.getEnPassantSquare();
+        this.zobristKey = board.zobristKey();
+        this.pawnKey = board.pawnKey();
+        this.rootHistory = board.getHistory();
+        this.halfmoveClock = this.rootHistory.getHalfmoveClock();
+        this.ply = 0;
+    }
+
+    public static PieceType pieceType(final int pieceIndex) {
+        return PIECE_TYPES[pieceIndex % BitBoard.NUM_PIECE_TYPES];
+    }
+
+    public static Alliance pieceAlliance(final int pieceIndex) {
+        return ALLIANCES[pieceIndex / BitBoard.NUM_PIECE_TYPES];
+    }
+
+    public BitBoard getBitBoard() {
+        return this.bitBoard;
+    }
+
+    public int getPiece(final int square) {
+        return this.mailbox[square];
+    }
+
+    public Alliance getMoveMaker() {
+        return this.moveMaker;
+    }
+
+    public long zobristKey() {
+        return this.zobristKey;
+    }
+
+    public long pawnKey() {
+        return this.pawnKey;
+    }
+
+    public int getCastlingRights() {
+        return this.castlingRights;
+    }
+
+    public int getEnPassantSquare() {
+        return this.enPassantSquare;
+    }
+
+    public int getPly() {
+        return this.ply;
+    }
+
+    public int getHalfmoveClock() {
+        return this.halfmoveClock;
+    }
+
+    // any earlier occurrence with the same side to move, in the search line or in the game before it
+    public boolean isRepetition() {
+        for (int pliesBack = 2; pliesBack <= this.halfmoveClock; pliesBack += 2) {
+            if (pliesBack > this.ply) {
+                return this.rootHistory.hasOccurred(this.zobristKey, pliesBack - this.ply, this.halfmoveClock - this.ply);
+            }
+            if (this.zobristHistory[this.ply - pliesBack] == this.zobristKey) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isFiftyMoveDraw() {
+        return this.halfmoveClock >= PositionHistory.FIFTY_MOVE_PLIES;
+    }
+
+    public int getMove(final int pliesAgo) {
+        return pliesAgo < this.ply ? this.moveHistory[this.ply - 1 - pliesAgo] : NO_MOVE;
+    }
+
+    public int getMovedPiece(final int move) {
+        return this.mailbox[origin(move)];
+    }
+
+    public int getCapturedPiece(final int move) {
+        if (flag(move) == EN_PASSANT) {
+            return BitBoard.pieceIndex(opponent(this.moveMaker), PieceType.PAWN);
+        }
+        return isCapture(move) ? this.mailbox[destination(move)] : EMPTY;
+    }
+
+    public boolean isCastled(final Alliance alliance) {
+        return (this.castled & (1 << alliance.ordinal())) != 0;
+    }
+
+    public boolean isInCheck() {
+        return isInCheck(this.moveMaker);
+    }
+
+    public boolean isInCheck(final Alliance alliance) {
+        final long king = this.bitBoard.getPieces(alliance, PieceType.KING);
+        return king != 0L && isAttacked(BitBoard.firstSquare(king), opponent(alliance));
+    }
+
+    public boolean givesCheck(final int move) {
+        return this.bitBoard.givesCheck(move, this.moveMaker);
+    }
+
+    public int staticExchange(final int move) {
+        return this.bitBoard.staticExchange(move, this.moveMaker);
+    }
+
+    // remembered per ply until the next makeMove, so the end game test, the evaluator and the move loop share it
+    public boolean hasLegalMove() {
+        if (this.legalMoveStates[this.ply] == UNKNOWN) {
+            this.legalMoveStates[this.ply] = findLegalMove() ? HAS_LEGAL_MOVE : NO_LEGAL_MOVE;
+        }
+        return this.legalMoveStates[this.ply] == HAS_LEGAL_MOVE;
+    }
+
+    public int countMoves(final Alliance alliance) {
+        generateMoves(alliance, this.scratchMoves, false, ALL_MOVES);
+        return this.scratchMoves.size();
+    }
+
+    public int countFavourableCaptures(final Alliance alliance) {
+        generateMoves(alliance, this.scratchMoves, false, ALL_MOVES);
+        int captures = 0;
+        for (int i = 0; i < this.scratchMoves.size(); i++) {
+            final int move = this.scratchMoves.get(i);
+            if (isCapture(move) &&
+                    pieceType(getMovedPiece(move)).getPieceValue() <= pieceType(capturedPiece(alliance, move)).getPieceValue()) {
+                captures++;
+            }
+        }
+        return captures;
+    }
+
+    public void generateMoves(final MoveList moves) {
+        generateMoves(this.moveMaker, moves, true, ALL_MOVES);
+    }
+
+    // legal captures, en passant and promotions
+    public void generateCaptures(final MoveList moves) {
+        generateMoves(this.moveMaker, moves, true, CAPTURES);
+    }
+
+    // every legal move generateCaptures leaves out
+    public void generateQuiets(final MoveList moves) {
+        generateMoves(this.moveMaker, moves, true, QUIETS);
+    }
+
+    // captures and promotions for the quiescence search, or every evasion when in check
+    public void generateTacticalMoves(final MoveList moves) {
+        generateMoves(this.moveMaker, moves, true, isInCheck() ? ALL_MOVES : CAPTURES);
+    }
+
+    // whether a move remembered from another position, a table entry or a killer, can be played here
+    public boolean isLegalMove(final int move) {
+        if (move == NO_MOVE) {
+            return false;
+        }
+        final int origin = origin(move);
+        final int destination = destination(move);
+        final int flag = flag(move);
+        final int movedPiece = this.mailbox[origin];
+        if (movedPiece == EMPTY || pieceAlliance(movedPiece) != this.moveMaker) {
+            return false;
+        }
+        final int target = this.mailbox[destination];
+        if (flag == CAPTURE || flag == PROMOTION_CAPTURE) {
+            if (target == EMPTY || pieceAlliance(target) == this.moveMaker || pieceType(target) == PieceType.KING) {
+                return false;
+            }
+        } else if (target != EMPTY) {
+            return false;
+        }
+        final PieceType movedType = pieceType(movedPiece);
+        if (isCastle(move)) {
+            if (movedType != PieceType.KING) {
+                return false;
+            }
+            generateMoves(this.moveMaker, this.scratchMoves, true, QUIETS);
+            return this.scratchMoves.contains(move);
+        }
+        if (movedType == PieceType.PAWN ? !isPawnMoveShape(move) :
+                (flag != QUIET && flag != CAPTURE) || (attacks(movedType, origin) & BitBoard.squareBit(destination)) == 0L) {
+            return false;
+        }
+        return this.bitBoard.isLegal(move, this.moveMaker, this.bitBoard.pinnedPieces(this.moveMaker),
+                this.bitBoard.checkMask(this.moveMaker, this.bitBoard.checkers(this.moveMaker)));
+    }
+
+    // expects a legal move, as produced by generateMoves; passing the turn is makeNullMove
+    public void makeMove(final int move) {
+        if (move == NO_MOVE) {
+            throw new RuntimeException("The null move is made with makeNullMove.");
+        }
+        final int origin = origin(move);
+        final int destination = destination(move);
+        final int flag = flag(move);
+        final int movedPiece = this.mailbox[origin];
+        final Alliance mover = this.moveMaker;
+
+        saveState(move);
+        // the en passant key depends on where the pawns stand, so it has to come out before anything moves
+        this.zobristKey ^= Zobrist.enPassantKey(this.bitBoard, this.enPassantSquare, mover);
+
+        int capturedPiece = EMPTY;
+        if (flag == EN_PASSANT) {
+            final int capturedSquare = destination - (mover.getDirection() * 8);
+            capturedPiece = this.mailbox[capturedSquare];
+            removePiece(capturedPiece, capturedSquare);
+        } else if (this.mailbox[destination] != EMPTY) {
+            capturedPiece = this.mailbox[destination];
+            removePiece(capturedPiece, destination);
+        }
+        this.capturedHistory[this.ply] = capturedPiece;
+        this.halfmoveClock = capturedPiece != EMPTY || pieceType(movedPiece) == PieceType.PAWN ? 0 : this.halfmoveClock + 1;
+
+        removePiece(movedPiece, origin);
+        putPiece(flag >= PROMOTION ? BitBoard.pieceIndex(mover, promotionType(move)) : movedPiece, destination);
+        if (flag == KING_SIDE_CASTLE) {
+            movePiece(origin + 3, origin + 1);
+            this.castled |= 1 << mover.ordinal();
+        } else if (flag == QUEEN_SIDE_CASTLE) {
+            movePiece(origin - 4, origin - 1);
+            this.castled |= 1 << mover.ordinal();
+        }
+
+        this.zobristKey ^= Zobrist.castlingKey(this.castlingRights);
+        this.castlingRights &= CASTLING_MASKS[origin] & CASTLING_MASKS[destination];
+        this.enPassantSquare = flag == PAWN_JUMP ? (origin + destination) / 2 : EMPTY;
+        this.moveMaker = opponent(mover);
+        this.zobristKey ^= Zobrist.castlingKey(this.castlingRights) ^
+                Zobrist.enPassantKey(this.bitBoard, this.enPassantSquare, this.moveMaker) ^ Zobrist.sideKey(Alliance.BLACK);
+        this.ply++;
+        this.legalMoveStates[this.ply] = UNKNOWN;
+    }
+
+    // hands the turn to the opponent without moving; the halfmove clock restarts so no repetition is matched across it
+    public void makeNullMove() {
+        saveState(NO_MOVE);
+        this.capturedHistory[this.ply] = EMPTY;
+        this.halfmoveClock = 0;
+        this.zobristKey ^= Zobrist.enPassantKey(this.bitBoard, this.enPassantSquare, this.moveMaker) ^ Zobrist.sideKey(Alliance.BLACK);
+        this.enPassantSquare = EMPTY;
+        this.moveMaker = opponent(this.moveMaker);
+        this.ply++;
+        this.legalMoveStates[this.ply] = UNKNOWN;
+    }
+
+    public void unmakeNullMove() {
+        this.ply--;
+        if (this.moveHistory[this.ply] != NO_MOVE) {
+            throw new RuntimeException("The last move was not a null move.");
+        }
+        restoreState();
+        this.moveMaker = opponent(this.moveMaker);
+    }
+
+    public void unmakeMove() {
+        this.ply--;
+        final int move = this.moveHistory[this.ply];
+        if (move == NO_MOVE) {
+            throw new RuntimeException("The null move is taken back with unmakeNullMove.");
+        }
+        final int origin = origin(move);
+        final int destination = destination(move);
+        final int flag = flag(move);
+        final Alliance mover = opponent(this.moveMaker);
+
+        final int movedPiece = flag >= PROMOTION ? BitBoard.pieceIndex(mover, PieceType.PAWN) : this.mailbox[destination];
+        removePiece(this.mailbox[destination], destination);
+        putPiece(movedPiece, origin);
+        if (flag == KING_SIDE_CASTLE) {
+            movePiece(origin + 1, origin + 3);
+        } else if (flag == QUEEN_SIDE_CASTLE) {
+            movePiece(origin - 1, origin - 4);
+        }
+
+        final int capturedPiece = this.capturedHistory[this.ply];
+        if (capturedPiece != EMPTY) {
+            putPiece(capturedPiece, flag == EN_PASSANT ? destination - (mover.getDirection() * 8) : destination);
+        }
+
+        restoreState();
+        this.moveMaker = mover;
+    }
+
+    // whether the side has anything besides king and pawns, without which passing is often the best move
+    public boolean hasNonPawnMaterial(final Alliance alliance) {
+        return (this.bitBoard.getPieces(alliance) & ~this.bitBoard.getPieces(alliance, PieceType.PAWN) &
+                ~this.bitBoard.getPieces(alliance, PieceType.KING)) != 0L;
+    }
+
+    private void saveState(final int move) {
+        this.moveHistory[this.ply] = move;
+        this.castlingHistory[this.ply] = this.castlingRights;
+        this.castledHistory[this.ply] = this.castled;
+        this.enPassantHistory[this.ply] = this.enPassantSquare;
+        this.zobristHistory[this.ply] = this.zobristKey;
+        this.pawnKeyHistory[this.ply] = this.pawnKey;
+        this.halfmoveHistory[this.ply] = this.halfmoveClock;
+    }
+
+    private void restoreState() {
+        this.castlingRights = this.castlingHistory[this.ply];
+        this.castled = this.castledHistory[this.ply];
+        this.enPassantSquare = this.enPassantHistory[this.ply];
+        this.zobristKey = this.zobristHistory[this.ply];
+        this.pawnKey = this.pawnKeyHistory[this.ply];
+        this.halfmoveClock = this.halfmoveHistory[this.ply];
+    }
+
+    // a king step is the usual escape and costs only a few lookups, so try those before generating everything
+    private boolean findLegalMove() {
+        final int kingSquare = this.bitBoard.kingSquare(this.moveMaker);
+        for (long targets = AttackTables.kingAttacks(kingSquare) & ~this.bitBoard.getPieces(this.moveMaker);
+             targets != 0L; targets = BitBoard.clearFirstSquare(targets)) {
+            if (this.bitBoard.isKingMoveSafe(this.moveMaker, kingSquare, BitBoard.firstSquare(targets))) {
+                return true;
+            }
+        }
+        generateMoves(this.moveMaker, this.scratchMoves, true, ALL_MOVES);
+        return !this.scratchMoves.isEmpty();
+    }
+
+    private boolean isPawnMoveShape(final int move) {
+        final int origin = origin(move);
+        final int destination = destination(move);
+        final long destinationBit = BitBoard.squareBit(destination);
+        final boolean promotes = this.moveMaker.isPawnPromotionSquare(destination);
+        if (isPromotion(move) != promotes || (promotes && promotionType(move) != PieceType.QUEEN)) {
+            return false;
+        }
+        switch (flag(move)) {
+            case QUIET:
+            case PROMOTION:
+                return (AttackTables.pawnPush(this.moveMaker, origin) & destinationBit) != 0L;
+            case PAWN_JUMP:
+                return (AttackTables.pawnJump(this.moveMaker, origin) & destinationBit) != 0L &&
+                        (AttackTables.pawnPush(this.moveMaker, origin) & this.bitBoard.getOccupied()) == 0L;
+            case CAPTURE:
+            case PROMOTION_CAPTURE:
+                return (AttackTables.pawnAttacks(this.moveMaker, origin) & destinationBit) != 0L;
+            case EN_PASSANT:
+                return destination == this.enPassantSquare && (AttackTables.pawnAttacks(this.moveMaker, origin) & destinationBit) != 0L;
+            default:
+                return false;
+        }
+    }
+
+    private long attacks(final PieceType pieceType,
+                         final int square) {
+        final long occupied = this.bitBoard.getOccupied();
+        switch (pieceType) {
+            case KNIGHT:
+                return AttackTables.knightAttacks(square);
+            case BISHOP:
+                return MagicBitBoards.bishopAttacks(square, occupied);
+            case ROOK:
+                return MagicBitBoards.rookAttacks(square, occupied);
+            case QUEEN:
+                return MagicBitBoards.queenAttacks(square, occupied);
+            default:
+                return AttackTables.kingAttacks(square);
+        }
+    }
+
+    private int capturedPiece(final Alliance alliance,
+                              final int move) {
+        return flag(move) == EN_PASSANT ? BitBoard.pieceIndex(opponent(alliance), PieceType.PAWN) : this.mailbox[destination(move)];
+    }
+
+    // legal generation restricts every non-king piece to the check mask and pinned pieces to their pin line,
+    // which also makes it the evasion generator: in double check only the king loop emits anything
+    private void generateMoves(final Alliance alliance,
+                               final MoveList moves,
+                               final boolean legalOnly,
+                               final int kinds) {
+        final Alliance enemyAlliance = opponent(alliance);
+        final long enemy = this.bitBoard.getPieces(enemyAlliance);
+        final long occupied = this.bitBoard.getOccupied();
+        final long king = this.bitBoard.getPieces(alliance, PieceType.KING);
+        final int kingSquare = BitBoard.firstSquare(king);
+        final long checkers = legalOnly ? this.bitBoard.checkers(alliance) : 0L;
+        final long checkMask = legalOnly ? this.bitBoard.checkMask(alliance, checkers) : ~0L;
+        final long pinned = legalOnly ? this.bitBoard.pinnedPieces(alliance) : 0L;
+        final long targets = ((kinds & CAPTURES) != 0 ? enemy : 0L) | ((kinds & QUIETS) != 0 ? ~occupied : 0L);
+        moves.clear();
+        if (checkMask != 0L) {
+            generatePawnMoves(alliance, enemy, moves, legalOnly, pinned, checkMask, kingSquare, kinds);
+            for (long pieces = this.bitBoard.getPieces(alliance, PieceType.KNIGHT) & ~pinned; pieces != 0L; pieces = BitBoard.clearFirstSquare(pieces)) {
+                final int square = BitBoard.firstSquare(pieces);
+                addTargetMoves(square, AttackTables.knightAttacks(square) & targets & checkMask, enemy, moves);
+            }
+            for (long pieces = this.bitBoard.getPieces(alliance, PieceType.BISHOP); pieces != 0L; pieces = BitBoard.clearFirstSquare(pieces)) {
+                final int square = BitBoard.firstSquare(pieces);
+                addTargetMoves(square, MagicBitBoards.bishopAttacks(square, occupied) & targets &
+                        pinMask(square, pinned, kingSquare, checkMask), enemy, moves);
+            }
+            for (long pieces = this.bitBoard.getPieces(alliance, PieceType.ROOK); pieces != 0L; pieces = BitBoard.clearFirstSquare(pieces)) {
+                final int square = BitBoard.firstSquare(pieces);
+                addTargetMoves(square, MagicBitBoards.rookAttacks(square, occupied) & targets &
+                        pinMask(square, pinned, kingSquare, checkMask), enemy, moves);
+            }
+            for (long pieces = this.bitBoard.getPieces(alliance, PieceType.QUEEN); pieces != 0L; pieces = BitBoard.clearFirstSquare(pieces)) {
+                final int square = BitBoard.firstSquare(pieces);
+                addTargetMoves(square, MagicBitBoards.queenAttacks(square, occupied) & targets &
+                        pinMask(square, pinned, kingSquare, checkMask), enemy, moves);
+            }
+        }
+        if (king != 0L) {
+            long kingTargets = AttackTables.kingAttacks(kingSquare) & targets;
+            if (legalOnly) {
+                for (long remaining = kingTargets; remaining != 0L; remaining = BitBoard.clearFirstSquare(remaining)) {
+                    final int destination = BitBoard.firstSquare(remaining);
+                    if (!this.bitBoard.isKingMoveSafe(alliance, kingSquare, destination)) {
+                        kingTargets &= ~BitBoard.squareBit(destination);
+                    }
+                }
+            }
+            addTargetMoves(kingSquare, kingTargets, enemy, moves);
+            if (checkers == 0L && (kinds & QUIETS) != 0) {
+                generateCastles(alliance, kingSquare, moves);
+            }
+        }
+    }
+
+    private static long pinMask(final int square,
+                                final long pinned,
+                                final int kingSquare,
+                                final long checkMask) {
+        return (pinned & BitBoard.squareBit(square)) != 0L ? AttackTables.line(kingSquare, square) & checkMask : checkMask;
+    }
+
+    private void generatePawnMoves(final Alliance alliance,
+                                   final long enemy,
+                                   final MoveList moves,
+                                   final boolean legalOnly,
+                                   final long pinned,
+                                   final long checkMask,
+                                   final int kingSquare,
+                                   final int kinds) {
+        final long empty = this.bitBoard.getEmpty();
+        final boolean tactical = (kinds & CAPTURES) != 0;
+        final boolean quiet = (kinds & QUIETS) != 0;
+        for (long pawns = this.bitBoard.getPieces(alliance, PieceType.PAWN); pawns != 0L; pawns = BitBoard.clearFirstSquare(pawns)) {
+            final int square = BitBoard.firstSquare(pawns);
+            final long allowed = pinMask(square, pinned, kingSquare, checkMask);
+            final long push = AttackTables.pawnPush(alliance, square) & empty;
+            if (push != 0L) {
+                if ((push & allowed) != 0L && (alliance.isPawnPromotionSquare(BitBoard.firstSquare(push)) ? tactical : quiet)) {
+                    addPawnMove(alliance, square, BitBoard.firstSquare(push), QUIET, moves);
+                }
+                final long jump = AttackTables.pawnJump(alliance, square) & empty & allowed;
+                if (jump != 0L && quiet) {
+                    moves.add(encode(square, BitBoard.firstSquare(jump), PAWN_JUMP));
+                }
+            }
+            if (!tactical) {
+                continue;
+            }
+            final long attacks = AttackTables.pawnAttacks(alliance, square);
+            for (long captures = attacks & enemy & allowed; captures != 0L; captures = BitBoard.clearFirstSquare(captures)) {
+                addPawnMove(alliance, square, BitBoard.firstSquare(captures), CAPTURE, moves);
+            }
+            if (alliance == this.moveMaker && this.enPassantSquare != EMPTY &&
+                    (attacks & BitBoard.squareBit(this.enPassantSquare)) != 0L &&
+                    (!legalOnly || this.bitBoard.isEnPassantLegal(alliance, square, this.enPassantSquare))) {
+                moves.add(encode(square, this.enPassantSquare, EN_PASSANT));
+            }
+        }
+    }
+
+    private static void addPawnMove(final Alliance alliance,
+                                    final int origin,
+                                    final int destination,
+                                    final int flag,
+                                    final MoveList moves) {
+        if (alliance.isPawnPromotionSquare(destination)) {
+            moves.add(encode(origin, destination, flag == CAPTURE ? PROMOTION_CAPTURE : PROMOTION, PieceType.QUEEN));
+        } else {
+            moves.add(encode(origin, destination, flag));
+        }
+    }
+
+    private static void addTargetMoves(final int origin,
+                                       final long targets,
+                                       final long enemy,
+                                       final MoveList moves) {
+        for (long remaining = targets; remaining != 0L; remaining = BitBoard.clearFirstSquare(remaining)) {
+            final int destination = BitBoard.firstSquare(remaining);
+            moves.add(encode(origin, destination, (enemy & BitBoard.squareBit(destination)) != 0L ? CAPTURE : QUIET));
+        }
+    }
+
+    private void generateCastles(final Alliance alliance,
+                                 final int kingSquare,
+                                 final MoveList moves) {
+        final int kingSide = alliance.isWhite() ? WHITE_KING_SIDE : BLACK_KING_SIDE;
+        final int queenSide = alliance.isWhite() ? WHITE_QUEEN_SIDE : BLACK_QUEEN_SIDE;
+        if ((this.castlingRights & (kingSide | queenSide)) == 0 || isAttacked(kingSquare, opponent(alliance))) {
+            return;
+        }
+        final Alliance enemy = opponent(alliance);
+        if ((this.castlingRights & kingSide) != 0 &&
+                !this.bitBoard.isOccupied(kingSquare + 1) && !this.bitBoard.isOccupied(kingSquare + 2) &&
+                !isAttacked(kingSquare + 1, enemy) && !isAttacked(kingSquare + 2, enemy)) {
+            moves.add(encode(kingSquare, kingSquare + 2, KING_SIDE_CASTLE));
+        }
+        if ((this.castlingRights & queenSide) != 0 &&
+                !this.bitBoard.isOccupied(kingSquare - 1) && !this.bitBoard.isOccupied(kingSquare - 2) &&
+                !this.bitBoard.isOccupied(kingSquare - 3) &&
+                !isAttacked(kingSquare - 1, enemy) && !isAttacked(kingSquare - 2, enemy)) {
+            moves.add(encode(kingSquare, kingSquare - 2, QUEEN_SIDE_CASTLE));
+        }
+    }
+
+    private boolean isAttacked(final int square,
+                               final Alliance attacker) {
+        return this.bitBoard.isSquareAttacked(square, attacker);
+    }
+
+    private void putPiece(final int pieceIndex,
+                          final int square) {
+        this.mailbox[square] = pieceIndex;
+        this.bitBoard.addPiece(pieceIndex, square);
+        toggleKeys(pieceIndex, square);
+    }
+
+    private void removePiece(final int pieceIndex,
+                             final int square) {
+        this.mailbox[square] = EMPTY;
+        this.bitBoard.removePiece(pieceIndex, square);
+        toggleKeys(pieceIndex, square);
+    }
+
+    private void toggleKeys(final int pieceIndex,
+                            final int square) {
+        final long key = Zobrist.pieceKey(pieceIndex, square);
+        this.zobristKey ^= key;
+        if (pieceIndex % BitBoard.NUM_PIECE_TYPES == PieceType.PAWN.ordinal()) {
+            this.pawnKey ^= key;
+        }
+    }
+
+    private void movePiece(final int origin,
+                           final int destination) {
+        final int pieceIndex = this.mailbox[origin];
+        removePiece(pieceIndex, origin);
+        putPiece(pieceIndex, destination);
+    }
+
+    private static Alliance opponent(final Alliance alliance) {
+        return alliance.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+    }
+
+    private static int[] initCastlingMasks() {
+        final int[] masks = new int[BoardUtils.NUM_TILES];
+        Arrays.fill(masks, WHITE_KING_SIDE | WHITE_QUEEN_SIDE | BLACK_KING_SIDE | BLACK_QUEEN_SIDE);
+        masks[60] &= ~(WHITE_KING_SIDE | WHITE_QUEEN_SIDE);
+        masks[63] &= ~WHITE_KING_SIDE;
+        masks[56] &= ~WHITE_QUEEN_SIDE;
+        masks[4] &= ~(BLACK_KING_SIDE | BLACK_QUEEN_SIDE);
+        masks[7] &= ~BLACK_KING_SIDE;
+        masks[0] &= ~BLACK_QUEEN_SIDE;
+        return masks;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            final int piece = this.mailbox[i];
+            final String text = piece == EMPTY ? "-" : pieceAlliance(piece).isWhite() ?
+                    pieceType(piece).toString() : pieceType(piece).toString().toLowerCase();
+            builder.append(String.format("%3s", text));
+            if ((i + 1) % BoardUtils.NUM_TILES_PER_ROW == 0) {
+                builder.append("\n");
+            }
+        }
+        return builder.toString();
+    }
+
+}
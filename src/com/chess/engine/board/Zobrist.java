@@ -0,0 +1,74 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
+
+import java.util.Random;
+
+public final class Zobrist {
+
+    private static final int NUM_CASTLING_STATES = 16;
+    private static final long SEED = 0x5EEDC0FFEEL;
+
+    private static final long[][] PIECE_KEYS = new long[BitBoard.NUM_PIECE_BOARDS][BoardUtils.NUM_TILES];
+    private static final long[] CASTLING_KEYS = new long[NUM_CASTLING_STATES];
+    private static final long[] EN_PASSANT_KEYS = new long[BoardUtils.NUM_TILES_PER_ROW];
+    private static final long BLACK_TO_MOVE_KEY;
+
+    static {
+        final Random random = new Random(SEED);
+        for (final long[] squareKeys : PIECE_KEYS) {
+            for (int square = 0; square < squareKeys.length; square++) {
+                squareKeys[square] = random.nextLong();
+            }
+        }
+        for (int i = 0; i < CASTLING_KEYS.length; i++) {
+            CASTLING_KEYS[i] = random.nextLong();
+        }
+        for (int i = 0; i < EN_PASSANT_KEYS.length; i++) {
+            EN_PASSANT_KEYS[i] = random.nextLong();
+        }
+        BLACK_TO_MOVE_KEY = random.nextLong();
+    }
+
+    private Zobrist() {
+        throw new RuntimeException("Not Instantiable!");
+    }
+
+    public static long pieceKey(final int pieceIndex,
+                                final int square) {
+        return PIECE_KEYS[pieceIndex][square];
+    }
+
+    public static long pieceKey(final Piece piece) {
+        return pieceKey(BitBoard.pieceIndex(piece.getPieceAlliance(), piece.getPieceType()), piece.getPiecePosition());
+    }
+
+    public static long pawnKey(final Piece piece) {
+        return piece.getPieceType() == PieceType.PAWN ? pieceKey(piece) : 0L;
+    }
+
+    public static long castlingKey(final int castlingRights) {
+        return CASTLING_KEYS[castlingRights];
+    }
+
+    // the file only counts when a pawn of the side to move stands next to the jumped pawn, so positions that
+    // differ by an en passant square nobody can use still transpose
+    public static long enPassantKey(final BitBoard bitBoard,
+                                    final int enPassantSquare,
+                                    final Alliance moveMaker) {
+        if (enPassantSquare < 0) {
+            return 0L;
+        }
+        final Alliance opponent = moveMaker.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+        final boolean capturable = (AttackTables.pawnAttacks(opponent, enPassantSquare) &
+                bitBoard.getPieces(moveMaker, PieceType.PAWN)) != 0L;
+        return capturable ? EN_PASSANT_KEYS[enPassantSquare % BoardUtils.NUM_TILES_PER_ROW] : 0L;
+    }
+
+    public static long sideKey(final Alliance moveMaker) {
+        return moveMaker.isBlack() ? BLACK_TO_MOVE_KEY : 0L;
+    }
+
+}
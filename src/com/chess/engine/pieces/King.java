@@ -1,20 +1,14 @@
 package com.chess.engine.pieces;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.AttackTables;
 import com.chess.engine.board.Board;
-import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
-import com.chess.engine.board.Tile;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
-
-import static com.chess.engine.board.Move.*;
 
 public class King extends Piece {
 
-    private static final int[] POSSIBLE_OFFSET = {-9, -8, -7, -1, 1, 7, 8, 9};
     private final boolean isCastled;
     private final boolean kingSideCastleCapable;
     private final boolean queenSideCastleCapable;
@@ -42,30 +36,8 @@ public class King extends Piece {
     }
 
     @Override
-    public Collection<Move> calculateLegalMoves(Board board) {
-        final List<Move> legalMoves = new ArrayList<>();
-
-        for (int current : POSSIBLE_OFFSET) {
-            final int destination = this.piecePosition + current;
-            if (isFirstColumnExclusion(this.piecePosition, current) ||
-                isEighthColumnExclusion(this.piecePosition, current)) {
-                continue;
-            }
-
-            if (BoardUtils.isValid(destination)) {
-                final Tile candidateDestinationTile = board.getTile(destination);
-                if (!candidateDestinationTile.occupied()) {
-                    legalMoves.add(new MajorMove(board, this, destination));
-                } else {
-                    final Piece pieceAtDestination = candidateDestinationTile.getPiece();
-                    final Alliance pieceAlliance = pieceAtDestination.getPieceAlliance();
-                    if (this.pieceAlliance != pieceAlliance) {
-                        legalMoves.add(new MajorAttackMove(board, this, destination, pieceAtDestination));
-                    }
-                }
-            }
-        }
-        return legalMoves;
+    public Collection<Move> calculateLegalMoves(final Board board) {
+        return calculateTargetMoves(board, AttackTables.kingAttacks(this.piecePosition));
     }
 
     @Override
@@ -103,16 +75,6 @@ public class King extends Piece {
         return PieceType.KING.toString();
     }
 
-    private static boolean isFirstColumnExclusion(final int currentPosition, final int candidateOffset) {
-        return BoardUtils.FIRST_COLUMN[currentPosition] && (candidateOffset == -9 || candidateOffset == -1 ||
-                candidateOffset == 7);
-    }
-
-    private static boolean isEighthColumnExclusion(final int currentPosition, final int candidateOffset) {
-        return BoardUtils.SECOND_COLUMN[currentPosition] && (candidateOffset == -7 || candidateOffset == 1 ||
-                candidateOffset == 9);
-    }
-
     public boolean isCastled() {
         return this.isCastled;
     }
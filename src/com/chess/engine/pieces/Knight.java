@@ -1,22 +1,15 @@
 package com.chess.engine.pieces;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.AttackTables;
 import com.chess.engine.board.Board;
-import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
-import com.chess.engine.board.Move.MajorAttackMove;
-import com.chess.engine.board.Move.MajorMove;
-import com.chess.engine.board.Tile;
-import com.google.common.collect.ImmutableList;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
+import java.util.Collections;
 
 public class Knight extends Piece {
 
-    private final static int[] POSSIBLE_OFFSETS = {-17, -15, -10, -6, 6, 10, 15, 17};
-
     public Knight(final Alliance pieceAlliance, final int piecePosition) {
         super(PieceType.KNIGHT, piecePosition, pieceAlliance, true);
     }
@@ -32,31 +25,7 @@ public class Knight extends Piece {
 
     @Override
     public Collection<Move> calculateLegalMoves(final Board board) {
-        List<Move> legalMoves = new ArrayList<>();
-
-        for (final int current : POSSIBLE_OFFSETS) {
-            final int destinationCoordinate = this.piecePosition + current;
-            if (BoardUtils.isValid(destinationCoordinate)) {
-                if (isFirstColumnExclusion(this.piecePosition, current) ||
-                        isSecondColumnExclusion(this.piecePosition, current) ||
-                        isSeventhColumnExclusion(this.piecePosition, current) ||
-                        isEighthColumnExclusion(this.piecePosition, current)) {
-                    continue;
-                }
-                final Tile candidateDestinationTile = board.getTile(destinationCoordinate);
-                if (!candidateDestinationTile.occupied()) {
-                    legalMoves.add(new MajorMove(board, this, destinationCoordinate));
-                } else {
-                    final Piece pieceAtDestination = candidateDestinationTile.getPiece();
-                    final Alliance pieceAlliance = pieceAtDestination.getPieceAlliance();
-                    if (this.pieceAlliance != pieceAlliance) {
-                        legalMoves.add(new MajorAttackMove(board, this, destinationCoordinate, pieceAtDestination));
-                    }
-                }
-            }
-        }
-
-        return ImmutableList.copyOf(legalMoves);
+        return Collections.unmodifiableList(calculateTargetMoves(board, AttackTables.knightAttacks(this.piecePosition)));
     }
 
     @Override
@@ -69,22 +38,4 @@ public class Knight extends Piece {
         return PieceType.KNIGHT.toString();
     }
 
-    private static boolean isFirstColumnExclusion(final int currentPosition, final int candidateOffset) {
-        return BoardUtils.FIRST_COLUMN[currentPosition] && (candidateOffset == -17 || candidateOffset == -10 ||
-                candidateOffset == 6 || candidateOffset == 15);
-    }
-
-    private static boolean isSecondColumnExclusion(final int currentPosition, final int candidateOffset) {
-        return BoardUtils.SECOND_COLUMN[currentPosition] && (candidateOffset == -10 || candidateOffset == 6);
-    }
-
-    private static boolean isSeventhColumnExclusion(final int currentPosition, final int candidateOffset) {
-        return BoardUtils.SEVENTH_COLUMN[currentPosition] && (candidateOffset == -6 || candidateOffset == 10);
-    }
-
-    private static boolean isEighthColumnExclusion(final int currentPosition, final int candidateOffset) {
-        return BoardUtils.EIGHTH_COLUMN[currentPosition] && (candidateOffset == -15 || candidateOffset == -6 ||
-                candidateOffset == 10 || candidateOffset == 17);
-    }
-
 }
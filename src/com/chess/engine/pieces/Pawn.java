@@ -1,8 +1,9 @@
 package com.chess.engine.pieces;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.AttackTables;
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
-import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
 import com.google.common.collect.ImmutableList;
 
@@ -14,8 +15,6 @@ import static com.chess.engine.board.Move.*;
 
 public class Pawn extends Piece {
 
-    private static final int[] POSSIBLE_OFFSET = {8, 16, 7, 9};
-
     public Pawn(final Alliance pieceAlliance, final int piecePosition) {
         super(PieceType.PAWN, piecePosition, pieceAlliance, true);
     }
@@ -32,93 +31,45 @@ public class Pawn extends Piece {
     @Override
     public Collection<Move> calculateLegalMoves(final Board board) {
         final List<Move> legalMoves = new ArrayList<>();
+        final BitBoard bitBoard = board.getBitBoard();
 
-        for (final int current : POSSIBLE_OFFSET) {
-            final int destination = this.piecePosition + (this.getPieceAlliance().getDirection() * current);
-
-            if (!BoardUtils.isValid(destination)) {
-                continue;
+        final long push = AttackTables.pawnPush(this.pieceAlliance, this.piecePosition) & bitBoard.getEmpty();
+        if (push != 0L) {
+            addPawnMove(legalMoves, new PawnMove(board, this, BitBoard.firstSquare(push)));
+            final long jump = AttackTables.pawnJump(this.pieceAlliance, this.piecePosition) & bitBoard.getEmpty();
+            if (this.isFirstMove() && jump != 0L) {
+                legalMoves.add(new PawnJump(board, this, BitBoard.firstSquare(jump)));
             }
-            if (current == 8 && !board.getTile(destination).occupied()) {
-                if (this.pieceAlliance.isPawnPromotionSquare(destination)) {
-                    if (this.pieceAlliance.isPawnPromotionSquare(destination)) {
-                        legalMoves.add(new PawnPromotion(
-                                new PawnMove(board, this, destination), PieceUtils.INSTANCE.getMovedQueen(this.pieceAlliance, destination)));
-//                        legalMoves.add(new PawnPromotion(
-//                                new PawnMove(board, this, destination), PieceUtils.INSTANCE.getMovedRook(this.pieceAlliance, destination)));
-//                        legalMoves.add(new PawnPromotion(
-//                                new PawnMove(board, this, destination), PieceUtils.INSTANCE.getMovedBishop(this.pieceAlliance, destination)));
-//                        legalMoves.add(new PawnPromotion(
-//                                new PawnMove(board, this, destination), PieceUtils.INSTANCE.getMovedKnight(this.pieceAlliance, destination)));
-                    }
-                } else {
-                    legalMoves.add(new PawnMove(board, this, destination));
-                }
-            } else if (current == 16 && this.isFirstMove() &&
-                    ((BoardUtils.SEVENTH_RANK[this.piecePosition] && this.getPieceAlliance().isBlack()) ||
-                    (BoardUtils.SECOND_RANK[this.piecePosition] && this.getPieceAlliance().isWhite()))) {
-                final int behindDestination = this.piecePosition + (this.pieceAlliance.getDirection() * 8);
-                if (!board.getTile(behindDestination).occupied() &&
-                    !board.getTile(destination).occupied()) {
-                    legalMoves.add(new PawnJump(board, this, destination));
-                }
-            } else if (current == 7 &&
-                     !((BoardUtils.EIGHTH_COLUMN[this.piecePosition] && this.pieceAlliance.isWhite() ||
-                     (BoardUtils.FIRST_COLUMN[this.piecePosition] && this.pieceAlliance.isBlack())))) {
-                if (board.getTile(destination).occupied()) {
-                    final Piece piece  = board.getTile(destination).getPiece();
-                    if (this.pieceAlliance != piece.getPieceAlliance()) {
-                        if (this.pieceAlliance.isPawnPromotionSquare(destination)) {
-                            legalMoves.add(new PawnPromotion(
-                                    new PawnAttackMove(board, this, destination, piece), PieceUtils.INSTANCE.getMovedQueen(this.pieceAlliance, destination)));
-//                            legalMoves.add(new PawnPromotion(
-//                                    new PawnAttackMove(board, this, destination, piece), PieceUtils.INSTANCE.getMovedRook(this.pieceAlliance, destination)));
-//                            legalMoves.add(new PawnPromotion(
-//                                    new PawnAttackMove(board, this, destination, piece), PieceUtils.INSTANCE.getMovedBishop(this.pieceAlliance, destination)));
-//                            legalMoves.add(new PawnPromotion(
-//                                    new PawnAttackMove(board, this, destination, piece), PieceUtils.INSTANCE.getMovedKnight(this.pieceAlliance, destination)));
-                        } else {
-                            legalMoves.add(new PawnAttackMove(board, this, destination, piece));
-                        }
-                    }
-                } else if (board.getEnPassantPawn() != null) {
-                    if (board.getEnPassantPawn().getPiecePosition() == (this.piecePosition + (this.pieceAlliance.getOppositeDirection()))) {
-                        final Piece pieceOnCandidate = board.getEnPassantPawn();
-                        if (this.pieceAlliance != pieceOnCandidate.getPieceAlliance()) {
-                            legalMoves.add(new PawnEnPassantAttackMove(board, this, destination, pieceOnCandidate));
-                        }
-                    }
-                }
-            } else if (current == 9 &&
-                    !((BoardUtils.FIRST_COLUMN[this.piecePosition] && this.pieceAlliance.isWhite() ||
-                    (BoardUtils.EIGHTH_COLUMN[this.piecePosition] && this.pieceAlliance.isBlack())))) {
-                if (board.getTile(destination).occupied()) {
-                    final Piece piece = board.getTile(destination).getPiece();
-                    if (this.pieceAlliance != piece.getPieceAlliance()) {
-                        if (this.pieceAlliance.isPawnPromotionSquare(destination)) {
-                            legalMoves.add(new PawnPromotion(
-                                    new PawnAttackMove(board, this, destination, piece), PieceUtils.INSTANCE.getMovedQueen(this.pieceAlliance, destination)));
-//                            legalMoves.add(new PawnPromotion(
-//                                    new PawnAttackMove(board, this, destination, piece), PieceUtils.INSTANCE.getMovedRook(this.pieceAlliance, destination)));
-//                            legalMoves.add(new PawnPromotion(
-//                                    new PawnAttackMove(board, this, destination, piece), PieceUtils.INSTANCE.getMovedBishop(this.pieceAlliance, destination)));
-//                            legalMoves.add(new PawnPromotion(
-//                                    new PawnAttackMove(board, this, destination, piece), PieceUtils.INSTANCE.getMovedKnight(this.pieceAlliance, destination)));
-                        } else {
-                            legalMoves.add(new PawnAttackMove(board, this, destination, piece));
-                        }
-                    }
-                } else if (board.getEnPassantPawn() != null) {
-                    if (board.getEnPassantPawn().getPiecePosition() == (this.piecePosition - (this.pieceAlliance.getOppositeDirection()))) {
-                        final Piece pieceOnCandidate = board.getEnPassantPawn();
-                        if (this.pieceAlliance != pieceOnCandidate.getPieceAlliance()) {
-                            legalMoves.add(new PawnEnPassantAttackMove(board, this, destination, pieceOnCandidate));
-                        }
-                    }
-                }
+        }
+
+        final long attacks = AttackTables.pawnAttacks(this.pieceAlliance, this.piecePosition);
+        final long enemyPieces = bitBoard.getOccupied() & ~bitBoard.getPieces(this.pieceAlliance);
+        for (long captures = attacks & enemyPieces; captures != 0L; captures = BitBoard.clearFirstSquare(captures)) {
+            final int destination = BitBoard.firstSquare(captures);
+            addPawnMove(legalMoves, new PawnAttackMove(board, this, destination, board.getTilePiece(destination)));
+        }
+
+        final Pawn enPassantPawn = board.getEnPassantPawn();
+        if (enPassantPawn != null && this.pieceAlliance != enPassantPawn.getPieceAlliance()) {
+            final int destination = enPassantPawn.getPiecePosition() + (this.pieceAlliance.getDirection() * 8);
+            if ((attacks & BitBoard.squareBit(destination)) != 0L) {
+                legalMoves.add(new PawnEnPassantAttackMove(board, this, destination, enPassantPawn));
             }
         }
-        return ImmutableList.copyOf((legalMoves));
+        return ImmutableList.copyOf(legalMoves);
+    }
+
+    private void addPawnMove(final List<Move> legalMoves,
+                             final Move pawnMove) {
+        final int destination = pawnMove.getDestination();
+        if (this.pieceAlliance.isPawnPromotionSquare(destination)) {
+            legalMoves.add(new PawnPromotion(pawnMove, PieceUtils.INSTANCE.getMovedQueen(this.pieceAlliance, destination)));
+//            legalMoves.add(new PawnPromotion(pawnMove, PieceUtils.INSTANCE.getMovedRook(this.pieceAlliance, destination)));
+//            legalMoves.add(new PawnPromotion(pawnMove, PieceUtils.INSTANCE.getMovedBishop(this.pieceAlliance, destination)));
+//            legalMoves.add(new PawnPromotion(pawnMove, PieceUtils.INSTANCE.getMovedKnight(this.pieceAlliance, destination)));
+        } else {
+            legalMoves.add(pawnMove);
+        }
     }
 
     @Override
@@ -1,10 +1,15 @@
 package com.chess.engine.pieces;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
+import com.chess.engine.board.Move.MajorAttackMove;
+import com.chess.engine.board.Move.MajorMove;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 public abstract class Piece {
 
@@ -51,6 +56,22 @@ public abstract class Piece {
 
     public abstract Collection<Move> calculateLegalMoves(final Board board);
 
+    List<Move> calculateTargetMoves(final Board board,
+                                    final long attacks) {
+        final BitBoard bitBoard = board.getBitBoard();
+        final long targets = attacks & ~bitBoard.getPieces(this.pieceAlliance);
+        final long enemyPieces = bitBoard.getOccupied() & ~bitBoard.getPieces(this.pieceAlliance);
+        final List<Move> legalMoves = new ArrayList<>(BitBoard.bitCount(targets));
+        for (long remaining = targets; remaining != 0L; remaining = BitBoard.clearFirstSquare(remaining)) {
+            final int destination = BitBoard.firstSquare(remaining);
+            if ((enemyPieces & BitBoard.squareBit(destination)) != 0L) {
+                legalMoves.add(new MajorAttackMove(board, this, destination, board.getTilePiece(destination)));
+            } else {
+                legalMoves.add(new MajorMove(board, this, destination));
+            }
+        }
+        return legalMoves;
+    }
 
     @Override
     public boolean equals(final Object other) {
@@ -2,21 +2,14 @@ package com.chess.engine.pieces;
 
 import com.chess.engine.Alliance;
 import com.chess.engine.board.Board;
-import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.MagicBitBoards;
 import com.chess.engine.board.Move;
-import com.chess.engine.board.Move.MajorAttackMove;
-import com.chess.engine.board.Move.MajorMove;
-import com.chess.engine.board.Tile;
-import com.google.common.collect.ImmutableList;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
+import java.util.Collections;
 
 public class Queen extends Piece {
 
-    private final static int[] POSSIBLE_OFFSETS = {-9, -8, -7, -1, 1, 7, 8, 9};
-
     public Queen(final Alliance pieceAlliance, final int piecePosition) {
         super(PieceType.QUEEN, piecePosition, pieceAlliance, true);
     }
@@ -32,33 +25,8 @@ public class Queen extends Piece {
 
     @Override
     public Collection<Move> calculateLegalMoves(final Board board) {
-
-        final List<Move> legalMoves = new ArrayList<>();
-
-        for (final int current : POSSIBLE_OFFSETS) {
-            int destination = this.piecePosition;
-            while (BoardUtils.isValid(destination)) {
-                if (isFirstColumnExclusion(destination, current) ||
-                        isEighthColumnExclusion(destination, current)) {
-                    break;
-                }
-                destination += current;
-                if (BoardUtils.isValid((destination))) {
-                    final Tile candidateDestinationTile = board.getTile(destination);
-                    if (!candidateDestinationTile.occupied()) {
-                        legalMoves.add(new MajorMove(board, this, destination));
-                    } else {
-                        final Piece pieceAtDestination = candidateDestinationTile.getPiece();
-                        final Alliance pieceAlliance = pieceAtDestination.getPieceAlliance();
-                        if (this.pieceAlliance != pieceAlliance) {
-                            legalMoves.add(new MajorAttackMove(board, this, destination, pieceAtDestination));
-                        }
-                        break;
-                    }
-                }
-            }
-        }
-        return ImmutableList.copyOf(legalMoves);
+        return Collections.unmodifiableList(calculateTargetMoves(board,
+                MagicBitBoards.queenAttacks(this.piecePosition, board.getBitBoard().getOccupied())));
     }
 
     @Override
@@ -70,12 +38,4 @@ public class Queen extends Piece {
     public String toString() {
         return PieceType.QUEEN.toString();
     }
-
-    private static boolean isFirstColumnExclusion(final int current, final int candidateOffset) {
-        return BoardUtils.FIRST_COLUMN[current] && (candidateOffset == -9 || candidateOffset == 7 || candidateOffset == -1);
-    }
-
-    private static boolean isEighthColumnExclusion(final int current, final int candidateOffset) {
-        return BoardUtils.EIGHTH_COLUMN[current] && (candidateOffset == 9 || candidateOffset == -7 || candidateOffset == 1);
-    }
 }
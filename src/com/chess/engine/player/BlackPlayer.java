@@ -18,8 +18,8 @@ import java.util.List;
 import static com.chess.engine.pieces.Piece.PieceType.ROOK;
 
 public class BlackPlayer extends Player {
-    public BlackPlayer(final Board board, final Collection<Move> whiteLegalMoves, final Collection<Move> blackLegalMoves) {
-        super(board, blackLegalMoves, whiteLegalMoves);
+    public BlackPlayer(final Board board) {
+        super(board);
     }
 
     @Override
@@ -38,7 +38,7 @@ public class BlackPlayer extends Player {
     }
 
     @Override
-    public Collection<Move> calculateKingCastles(final Collection<Move> playerLegals, Collection<Move> opponentLegals) {
+    public Collection<Move> calculateKingCastles(final Collection<Move> playerLegals) {
         if (!hasCastleOpportunities()) {
             return Collections.emptyList();
         }
@@ -48,8 +48,8 @@ public class BlackPlayer extends Player {
             if (this.board.getTilePiece(5) == null && this.board.getTilePiece(6) == null) {
                 final Piece kingSideRook = this.board.getTilePiece(7);
                 if (kingSideRook != null && kingSideRook.isFirstMove() &&
-                        Player.calculateAttacksOnTile(5, opponentLegals).isEmpty() &&
-                        Player.calculateAttacksOnTile(6, opponentLegals).isEmpty() &&
+                        !this.board.isSquareAttacked(5, getOpponent().getAlliance()) &&
+                        !this.board.isSquareAttacked(6, getOpponent().getAlliance()) &&
                         kingSideRook.getPieceType() == ROOK) {
                     if (!BoardUtils.isKingPawnTrap(this.board, this.playerKing, 12)) {
                         kingCastles.add(
@@ -63,8 +63,8 @@ public class BlackPlayer extends Player {
                     this.board.getTilePiece(3) == null) {
                 final Piece queenSideRook = this.board.getTilePiece(0);
                 if (queenSideRook != null && queenSideRook.isFirstMove() &&
-                        Player.calculateAttacksOnTile(2, opponentLegals).isEmpty() &&
-                        Player.calculateAttacksOnTile(3, opponentLegals).isEmpty() &&
+                        !this.board.isSquareAttacked(2, getOpponent().getAlliance()) &&
+                        !this.board.isSquareAttacked(3, getOpponent().getAlliance()) &&
                         queenSideRook.getPieceType() == ROOK) {
                     if (!BoardUtils.isKingPawnTrap(this.board, this.playerKing, 12)) {
                         kingCastles.add(
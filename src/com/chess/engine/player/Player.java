@@ -1,16 +1,17 @@
 package com.chess.engine.player;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveEncoding;
 import com.chess.engine.pieces.King;
 import com.chess.engine.pieces.Piece;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
 
 import static com.chess.engine.pieces.Piece.PieceType.KING;
 
@@ -18,64 +19,93 @@ public abstract class Player {
 
     protected final Board board;
     final King playerKing;
-    private final Collection<Move> legalMoves;
-    private final boolean isInCheck;
+    private Collection<Move> legalMoves;
+    private long[] legalDestinations;
+    private Boolean isInCheck;
 
-    Player(final Board board, final Collection<Move> legalMoves, final Collection<Move> opponentMoves) {
+    Player(final Board board) {
         this.board = board;
         this.playerKing = establishKing();
-        this.legalMoves = ImmutableList.copyOf(Iterables.concat(legalMoves, calculateKingCastles(legalMoves, opponentMoves)));
-        this.isInCheck = !Player.calculateAttacksOnTile(this.playerKing.getPiecePosition(), opponentMoves).isEmpty();
-    }
-
-    static Collection<Move> calculateAttacksOnTile(int piecePosition, Collection<Move> moves) {
-        final List<Move> attackMoves = new ArrayList<>();
-        for (final Move move : moves) {
-            if (piecePosition == move.getDestination()) {
-                attackMoves.add(move);
-            }
-        }
-        return ImmutableList.copyOf(attackMoves);
     }
 
     public King getPlayerKing() {
         return this.playerKing;
     }
 
+    // pins and the check mask are computed once per position, after which each generated move is a few mask tests;
+    // in check the mask leaves only the evasions
     public Collection<Move> getLegalMoves() {
-        return legalMoves;
+        if (this.legalMoves == null) {
+            final Collection<Move> pieceMoves = this.board.getPieceMoves(getAlliance());
+            final BitBoard bitBoard = this.board.getBitBoard();
+            final long pinnedPieces = bitBoard.pinnedPieces(getAlliance());
+            final long checkMask = bitBoard.checkMask(getAlliance(), bitBoard.checkers(getAlliance()));
+            this.legalMoves = ImmutableList.copyOf(Iterables.filter(Iterables.concat(pieceMoves, calculateKingCastles(pieceMoves)),
+                    move -> bitBoard.isLegal(MoveEncoding.encode(move), getAlliance(), pinnedPieces, checkMask)));
+        }
+        return this.legalMoves;
     }
 
     private King establishKing() {
-        return (King) getActivePieces().stream()
-                .filter(piece -> piece.getPieceType() == KING)
-                .findAny()
-                .orElseThrow(RuntimeException::new);
+        final long king = this.board.getBitBoard().getPieces(getAlliance(), KING);
+        if (king == 0L) {
+            throw new RuntimeException();
+        }
+        return (King) this.board.getTilePiece(BitBoard.firstSquare(king));
     }
 
     private boolean isMoveLegal(final Move move) {
-        return board.getLegalMoves().contains(move);
+        return this.board.currentPlayer().hasLegalMove(move);
+    }
+
+    // one destination bitboard per origin square, built on first use; promotions are always to a queen so
+    // origin and destination identify a move, and the moved piece check stands in for Move.equals
+    private boolean hasLegalMove(final Move move) {
+        if (this.legalDestinations == null) {
+            final long[] destinations = new long[BoardUtils.NUM_TILES];
+            for (final Move legalMove : getLegalMoves()) {
+                destinations[legalMove.getCurrent()] |= BitBoard.squareBit(legalMove.getDestination());
+            }
+            this.legalDestinations = destinations;
+        }
+        final Piece movedPiece = move.getMovedPiece();
+        return movedPiece != null &&
+                (this.legalDestinations[move.getCurrent()] & BitBoard.squareBit(move.getDestination())) != 0L &&
+                movedPiece.equals(this.board.getTilePiece(move.getCurrent()));
     }
 
     public boolean isInCheck() {
+        if (this.isInCheck == null) {
+            this.isInCheck = this.board.isSquareAttacked(this.playerKing.getPiecePosition(), getOpponent().getAlliance());
+        }
         return this.isInCheck;
     }
 
     public boolean isInCheckMate() {
-        return this.isInCheck && hasNoEscapeMoves();
+        return isInCheck() && hasNoEscapeMoves();
     }
 
     private boolean hasNoEscapeMoves() {
-        for (final Move move : this.legalMoves) {
-            final MoveTransition transition = makeMove(move);
-            if (transition.getMoveStatus().isDone())
-                return false;
+        return !hasLegalMove();
+    }
+
+    public boolean hasLegalMove() {
+        return !getLegalMoves().isEmpty();
+    }
+
+    // a move built by hand against this board that the piece could make, were it not for its own king
+    private boolean isPseudoLegal(final Move move) {
+        for (final Move pieceMove : this.board.getPieceMoves(getAlliance())) {
+            if (pieceMove.getCurrent() == move.getCurrent() && pieceMove.getDestination() == move.getDestination() &&
+                    pieceMove.getMovedPiece().equals(move.getMovedPiece())) {
+                return true;
+            }
         }
-        return true;
+        return false;
     }
 
     public boolean isInStaleMate() {
-        return !this.isInCheck && hasNoEscapeMoves();
+        return !isInCheck() && hasNoEscapeMoves();
     }
 
     public boolean isCastled() {
@@ -90,21 +120,15 @@ public abstract class Player {
         return this.playerKing.isQueenSideCastleCapable();
     }
 
+    // a move built against another board is illegal here, whatever it would be on its own
     public MoveTransition makeMove(final Move move) {
-        if (!isMoveLegal(move)) {
+        if (move.getBoard() != this.board || !isMoveLegal(move)) {
             // System.out.println("illegal move");
-            return new MoveTransition(this.board, this.board, move, MoveStatus.ILLEGAL_MOVE);
+            final MoveStatus status = move.getBoard() == this.board && move.getMovedPiece() != null && isPseudoLegal(move) ?
+                    MoveStatus.LEAVES_PLAYER_IN_CHECK : MoveStatus.ILLEGAL_MOVE;
+            return new MoveTransition(this.board, this.board, move, status);
         }
-        final Board transitionBoard = move.execute();
-
-        final Collection<Move> kingAttacks = Player.calculateAttacksOnTile(transitionBoard.currentPlayer().getOpponent().getPlayerKing().getPiecePosition(),
-                transitionBoard.currentPlayer().getLegalMoves());
-
-        if (!kingAttacks.isEmpty()) {
-            return new MoveTransition(this.board, this.board, move, MoveStatus.LEAVES_PLAYER_IN_CHECK);
-        }
-
-        return new MoveTransition(this.board, transitionBoard, move, MoveStatus.DONE);
+        return new MoveTransition(this.board, move.execute(), move, MoveStatus.DONE);
     }
 
     public MoveTransition unMakeMove(final Move move) {
@@ -117,10 +141,10 @@ public abstract class Player {
 
     public abstract Player getOpponent();
 
-    public abstract Collection<Move> calculateKingCastles(Collection<Move> playerLegals, Collection<Move> opponentLegals);
+    public abstract Collection<Move> calculateKingCastles(Collection<Move> playerLegals);
 
     boolean hasCastleOpportunities() {
-        return !this.isInCheck && !this.playerKing.isCastled() &&
+        return !isInCheck() && !this.playerKing.isCastled() &&
                 (this.playerKing.isKingSideCastleCapable() || this.playerKing.isQueenSideCastleCapable());
     }
 
@@ -17,8 +17,8 @@ import java.util.List;
 import static com.chess.engine.pieces.Piece.PieceType.ROOK;
 
 public class WhitePlayer extends Player {
-    public WhitePlayer(final Board board, final Collection<Move> whiteLegalMoves, final Collection<Move> blackLegalMoves) {
-        super(board, whiteLegalMoves, blackLegalMoves);
+    public WhitePlayer(final Board board) {
+        super(board);
     }
 
     @Override
@@ -37,7 +37,7 @@ public class WhitePlayer extends Player {
     }
 
     @Override
-    public Collection<Move> calculateKingCastles(Collection<Move> playerLegals, Collection<Move> opponentLegals) {
+    public Collection<Move> calculateKingCastles(final Collection<Move> playerLegals) {
 
         final List<Move> kingCastles = new ArrayList<>();
         if(this.playerKing.isFirstMove() && this.playerKing.getPiecePosition() == 60 && !this.isInCheck()) {
@@ -45,8 +45,8 @@ public class WhitePlayer extends Player {
             if(this.board.getTilePiece(61) == null && this.board.getTilePiece(62) == null) {
                 final Piece kingSideRook = this.board.getTilePiece(63);
                 if(kingSideRook != null && kingSideRook.isFirstMove()) {
-                    if(Player.calculateAttacksOnTile(61, opponentLegals).isEmpty() &&
-                            Player.calculateAttacksOnTile(62, opponentLegals).isEmpty() &&
+                    if(!this.board.isSquareAttacked(61, getOpponent().getAlliance()) &&
+                            !this.board.isSquareAttacked(62, getOpponent().getAlliance()) &&
                             kingSideRook.getPieceType() == ROOK) {
                         if(!BoardUtils.isKingPawnTrap(this.board, this.playerKing, 52)) {
                             kingCastles.add(new KingSideCastleMove(this.board, this.playerKing, 62, (Rook) kingSideRook, kingSideRook.getPiecePosition(), 61));
@@ -59,8 +59,8 @@ public class WhitePlayer extends Player {
                     this.board.getTilePiece(57) == null) {
                 final Piece queenSideRook = this.board.getTilePiece(56);
                 if(queenSideRook != null && queenSideRook.isFirstMove()) {
-                    if(Player.calculateAttacksOnTile(58, opponentLegals).isEmpty() &&
-                            Player.calculateAttacksOnTile(59, opponentLegals).isEmpty() && queenSideRook.getPieceType() == ROOK) {
+                    if(!this.board.isSquareAttacked(58, getOpponent().getAlliance()) &&
+                            !this.board.isSquareAttacked(59, getOpponent().getAlliance()) && queenSideRook.getPieceType() == ROOK) {
                         if(!BoardUtils.isKingPawnTrap(this.board, this.playerKing, 52)) {
                             kingCastles.add(new QueenSideCastleMove(this.board, this.playerKing, 58, (Rook) queenSideRook, queenSideRook.getPiecePosition(), 59));
                         }
@@ -3,13 +3,14 @@ package com.chess.engine.player.ai;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
-import com.chess.engine.player.MoveTransition;
-import com.chess.engine.player.Player;
+import com.chess.engine.board.SearchBoard;
 import com.google.common.collect.ComparisonChain;
 import com.google.common.collect.Ordering;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Observable;
 
 import static com.chess.engine.board.BoardUtils.mvvlva;
@@ -17,23 +18,21 @@ import static com.chess.engine.board.Move.MoveFactory;
 
 public class AlphaBetaTuned extends Observable implements MoveStrategy {
 
-    private final BoardEvaluator evaluator;
+    // iterations from this depth on start from a window around the previous iteration's score
+    private static final int ASPIRATION_MIN_DEPTH = 3;
+    // a window that has had to grow past this is given up for the full one
+    private static final int MAX_ASPIRATION_WINDOW = 800;
+
+    private final NegamaxSearch search;
     private final int searchDepth;
-    private long boardsEvaluated;
-    private int quiescenceCount;
-    private static final int MAX_QUIESCENCE = 5000 * 5;
+    private final long timeBudgetMillis;
+    private final long nodeBudget;
+    private final int aspirationWindow;
+    private long aspirationFailHighs;
+    private long aspirationFailLows;
 
     private enum MoveSorter {
 
-        STANDARD {
-            @Override
-            Collection<Move> sort(final Collection<Move> moves) {
-                return Ordering.from((Comparator<Move>) (move1, move2) -> ComparisonChain.start()
-                        .compareTrueFirst(move1.isCastlingMove(), move2.isCastlingMove())
-                        .compare(mvvlva(move2), mvvlva(move1))
-                        .result()).immutableSortedCopy(moves);
-            }
-        },
         EXPENSIVE {
             @Override
             Collection<Move> sort(final Collection<Move> moves) {
@@ -48,12 +47,39 @@ public class AlphaBetaTuned extends Observable implements MoveStrategy {
         abstract Collection<Move> sort(Collection<Move> moves);
     }
 
-
     public AlphaBetaTuned(final int searchDepth) {
-        this.evaluator = StandardBoardEvaluator.get();
+        this(searchDepth, TranspositionTable.DEFAULT_SIZE_MB);
+    }
+
+    public AlphaBetaTuned(final int searchDepth,
+                          final int transpositionTableMb) {
+        this(searchDepth, 0, 0, transpositionTableMb);
+    }
+
+    // a budget of zero means no limit, the search then stops only at searchDepth
+    public AlphaBetaTuned(final int searchDepth,
+                          final long timeBudgetMillis,
+                          final long nodeBudget) {
+        this(searchDepth, timeBudgetMillis, nodeBudget, TranspositionTable.DEFAULT_SIZE_MB);
+    }
+
+    public AlphaBetaTuned(final int searchDepth,
+                          final long timeBudgetMillis,
+                          final long nodeBudget,
+                          final int transpositionTableMb) {
+        this(searchDepth, timeBudgetMillis, nodeBudget, transpositionTableMb, SearchConfig.get());
+    }
+
+    public AlphaBetaTuned(final int searchDepth,
+                          final long timeBudgetMillis,
+                          final long nodeBudget,
+                          final int transpositionTableMb,
+                          final SearchConfig config) {
+        this.search = NegamaxSearch.alphaBeta(StandardBoardEvaluator.get(), new TranspositionTable(transpositionTableMb), config);
+        this.aspirationWindow = config.getAspirationWindow();
         this.searchDepth = searchDepth;
-        this.boardsEvaluated = 0;
-        this.quiescenceCount = 0;
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.nodeBudget = nodeBudget;
     }
 
     @Override
@@ -63,141 +89,142 @@ public class AlphaBetaTuned extends Observable implements MoveStrategy {
 
     @Override
     public long getNumBoardsEvaluated() {
-        return this.boardsEvaluated;
+        return this.search.getBoardsEvaluated();
+    }
+
+    public TranspositionTable getTranspositionTable() {
+        return this.search.getTranspositionTable();
+    }
+
+    public int getSearchDepth() {
+        return this.searchDepth;
+    }
+
+    public long getTimeBudgetMillis() {
+        return this.timeBudgetMillis;
+    }
+
+    // the table and history carry over from move to move, but not into a new game
+    public void newGame() {
+        this.search.clear();
+    }
+
+    public long getAspirationFailHighs() {
+        return this.aspirationFailHighs;
+    }
+
+    public long getAspirationFailLows() {
+        return this.aspirationFailLows;
     }
 
     @Override
     public Move execute(final Board board) {
         final long startTime = System.currentTimeMillis();
-        final Player currentPlayer = board.currentPlayer();
+        final SearchBoard searchBoard = new SearchBoard(board);
+        this.search.startSearch(this.timeBudgetMillis > 0 ? startTime + this.timeBudgetMillis : Long.MAX_VALUE, this.nodeBudget);
+        this.aspirationFailHighs = 0;
+        this.aspirationFailLows = 0;
+        System.out.println(board.currentPlayer() + " THINKING with depth = " + this.searchDepth + ", budget = " +
+                this.timeBudgetMillis + " ms / " + this.nodeBudget + " nodes (pruning enabled)");
+        final List<Move> rootMoves = new ArrayList<>(MoveSorter.EXPENSIVE.sort(board.currentPlayer().getLegalMoves()));
         Move bestMove = MoveFactory.getNullMove();
-        int highestSeenValue = Integer.MIN_VALUE;
-        int lowestSeenValue = Integer.MAX_VALUE;
-        int currentValue;
-        System.out.println(board.currentPlayer() + " THINKING with depth = " + this.searchDepth + " (pruning enabled)");
-        int moveCounter = 1;
-        int numMoves = board.currentPlayer().getLegalMoves().size();
-        for (final Move move : MoveSorter.EXPENSIVE.sort((board.currentPlayer().getLegalMoves()))) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            this.quiescenceCount = 0;
-            final String s;
-            if (moveTransition.getMoveStatus().isDone()) {
-                final long candidateMoveStartTime = System.nanoTime();
-                currentValue = currentPlayer.getAlliance().isWhite() ?
-                        min(moveTransition.getToBoard(), this.searchDepth - 1, highestSeenValue, lowestSeenValue) :
-                        max(moveTransition.getToBoard(), this.searchDepth - 1, highestSeenValue, lowestSeenValue);
-                if (currentPlayer.getAlliance().isWhite() && currentValue > highestSeenValue) {
-                    highestSeenValue = currentValue;
-                    bestMove = move;
-                    if (moveTransition.getToBoard().blackPlayer().isInCheckMate()) {
-                        break;
-                    }
-                } else if (currentPlayer.getAlliance().isBlack() && currentValue < lowestSeenValue) {
-                    lowestSeenValue = currentValue;
-                    bestMove = move;
-                    if (moveTransition.getToBoard().whitePlayer().isInCheckMate()) {
-                        break;
-                    }
-                }
-
-                final String quiescenceInfo = " " + score(currentPlayer, highestSeenValue, lowestSeenValue) + " q: " + this.quiescenceCount;
-                s = "\t" + toString() + "(" + this.searchDepth + "), m: (" + moveCounter + "/" + numMoves + ") " + move + ", best:  " + bestMove
-
-                        + quiescenceInfo + ", t: " + calculateTimeTaken(candidateMoveStartTime, System.nanoTime());
-            } else {
-                s = "\t" + toString() + "(" + this.searchDepth + ")" + ", m: (" + moveCounter + "/" + numMoves + ") " + move + " is illegal! best: " + bestMove;
+        int bestScore = 0;
+        int completedDepth = 0;
+        for (int depth = 1; depth <= this.searchDepth && !rootMoves.isEmpty(); depth++) {
+            // the first iteration always runs to completion so there is a move to fall back on
+            this.search.setAbortable(depth > 1);
+            final NegamaxSearch.RootResult result = searchRoot(searchBoard, rootMoves, depth, bestScore);
+            if (this.search.isAborted()) {
+                break;
+            }
+            bestMove = result.bestMove;
+            bestScore = result.score;
+            completedDepth = depth;
+            // the next iteration starts from this one's choice
+            rootMoves.remove(bestMove);
+            rootMoves.add(0, bestMove);
+            if (result.isMate || this.search.isOutOfBudget()) {
+                break;
             }
-            setChanged();
-            notifyObservers(s);
-            moveCounter++;
         }
 
         final long executionTime = System.currentTimeMillis() - startTime;
-        final String result = board.currentPlayer() + " SELECTS " + bestMove + " [#boards evaluated = " + this.boardsEvaluated +
-                " time taken = " + executionTime / 1000 + " rate = " + (1000 * ((double) this.boardsEvaluated / executionTime));
-        System.out.printf("%s SELECTS %s [#boards evaluated = %d, time taken = %d ms, rate = %.1f\n", board.currentPlayer(),
-                bestMove, this.boardsEvaluated, executionTime, (1000 * ((double) this.boardsEvaluated / executionTime)));
+        final long boardsEvaluated = this.search.getBoardsEvaluated();
+        final String result = board.currentPlayer() + " SELECTS " + bestMove + " [#boards evaluated = " + boardsEvaluated +
+                " time taken = " + executionTime / 1000 + " rate = " + (1000 * ((double) boardsEvaluated / executionTime));
+        System.out.printf("%s SELECTS %s [depth = %d, #boards evaluated = %d, time taken = %d ms, rate = %.1f, first move cutoffs = %.1f%%, null move cutoffs = %d, late moves pruned = %d, lmr re-searches = %d, futility pruned = %d, razored = %d, extensions = %d, " +
+                        "aspiration fail highs = %d, fail lows = %d, %s\n",
+                board.currentPlayer(), bestMove, completedDepth, boardsEvaluated, executionTime, (1000 * ((double) boardsEvaluated / executionTime)),
+                100 * this.search.getFirstMoveCutOffRate(), this.search.getNullMoveCutOffs(),
+                this.search.getLateMovesPruned(), this.search.getLateMoveReSearches(), this.search.getFutilityPruned(),
+                this.search.getRazoringCutOffs(), this.search.getExtensionsGranted(), this.aspirationFailHighs,
+                this.aspirationFailLows, this.search.getTranspositionTable());
         setChanged();
         notifyObservers(result);
         return bestMove;
     }
 
-    private static String score(final Player currentPlayer,
-                                final int highestSeenValue,
-                                final int lowestSeenValue) {
-
-        if (currentPlayer.getAlliance().isWhite()) {
-            return "[score: " + highestSeenValue + "]";
-        } else if (currentPlayer.getAlliance().isBlack()) {
-            return "[score: " + lowestSeenValue + "]";
-        }
-        throw new RuntimeException("no bueno");
-    }
-
-    private int max(final Board board,
-                    final int depth,
-                    final int highest,
-                    final int lowest) {
-        if (depth == 0 || BoardUtils.isEndGame(board)) {
-            this.boardsEvaluated++;
-            return this.evaluator.evaluate(board, depth);
+    // a score outside the window is only a bound, so the failing side is widened and the root searched again
+    private NegamaxSearch.RootResult searchRoot(final SearchBoard searchBoard,
+                                                final List<Move> rootMoves,
+                                                final int depth,
+                                                final int previousScore) {
+        if (depth < ASPIRATION_MIN_DEPTH || this.aspirationWindow <= 0) {
+            return this.search.searchRoot(searchBoard, rootMoves, depth, -NegamaxSearch.INFINITY, NegamaxSearch.INFINITY,
+                    new RootReporter(rootMoves, depth));
         }
-        int currentHighest = highest;
-        for (final Move move : MoveSorter.STANDARD.sort((board.currentPlayer().getLegalMoves()))) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()) {
-                final Board toBoard = moveTransition.getToBoard();
-                currentHighest = Math.max(currentHighest, min(toBoard,
-                        calculateQuiescenceDepth(toBoard, depth), currentHighest, lowest));
-                if (currentHighest >= lowest) {
-                    return lowest;
-                }
+        int window = this.aspirationWindow;
+        int alpha = Math.max(previousScore - window, -NegamaxSearch.INFINITY);
+        int beta = Math.min(previousScore + window, NegamaxSearch.INFINITY);
+        while (true) {
+            final NegamaxSearch.RootResult result = this.search.searchRoot(searchBoard, rootMoves, depth, alpha, beta,
+                    new RootReporter(rootMoves, depth));
+            if (this.search.isAborted() || result.isMate || (result.score > alpha && result.score < beta)) {
+                return result;
+            }
+            window *= 2;
+            if (result.score <= alpha) {
+                this.aspirationFailLows++;
+                alpha = window > MAX_ASPIRATION_WINDOW ? -NegamaxSearch.INFINITY : Math.max(alpha - window, -NegamaxSearch.INFINITY);
+            } else {
+                this.aspirationFailHighs++;
+                beta = window > MAX_ASPIRATION_WINDOW ? NegamaxSearch.INFINITY : Math.min(beta + window, NegamaxSearch.INFINITY);
+                // the move that failed high is the one to try first
+                rootMoves.remove(result.bestMove);
+                rootMoves.add(0, result.bestMove);
             }
         }
-        return currentHighest;
     }
 
-    private int min(final Board board,
-                    final int depth,
-                    final int highest,
-                    final int lowest) {
-        if (depth == 0 || BoardUtils.isEndGame(board)) {
-            this.boardsEvaluated++;
-            return this.evaluator.evaluate(board, depth);
-        }
-        int currentLowest = lowest;
-        for (final Move move : MoveSorter.STANDARD.sort((board.currentPlayer().getLegalMoves()))) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()) {
-                final Board toBoard = moveTransition.getToBoard();
-                currentLowest = Math.min(currentLowest, max(toBoard,
-                        calculateQuiescenceDepth(toBoard, depth), highest, currentLowest));
-                if (currentLowest <= highest) {
-                    return highest;
-                }
-            }
+    private class RootReporter implements NegamaxSearch.RootListener {
+
+        private final List<Move> rootMoves;
+        private final int depth;
+        private long candidateMoveStartTime;
+        private long quiescenceCount;
+
+        RootReporter(final List<Move> rootMoves,
+                     final int depth) {
+            this.rootMoves = rootMoves;
+            this.depth = depth;
+            this.candidateMoveStartTime = System.nanoTime();
+            this.quiescenceCount = search.getQuiescenceCount();
         }
-        return currentLowest;
-    }
 
-    private int calculateQuiescenceDepth(final Board toBoard,
-                                         final int depth) {
-        if (depth == 1 && this.quiescenceCount < MAX_QUIESCENCE) {
-            int activityMeasure = 0;
-            if (toBoard.currentPlayer().isInCheck()) {
-                activityMeasure += 1;
-            }
-            for (final Move move : BoardUtils.lastNMoves(toBoard, 2)) {
-                if (move.isAttack()) {
-                    activityMeasure += 1;
-                }
-            }
-            if (activityMeasure >= 2) {
-                this.quiescenceCount++;
-                return 2;
-            }
+        @Override
+        public void moveSearched(final int index,
+                                 final int score,
+                                 final int bestIndex,
+                                 final int bestScore) {
+            final String s = "\t" + AlphaBetaTuned.this + "(" + this.depth + "), m: (" + (index + 1) + "/" + this.rootMoves.size() + ") " +
+                    this.rootMoves.get(index) + ", best:  " + this.rootMoves.get(bestIndex) + " [score: " + bestScore + "] q: " +
+                    (search.getQuiescenceCount() - this.quiescenceCount) + ", t: " +
+                    calculateTimeTaken(this.candidateMoveStartTime, System.nanoTime());
+            setChanged();
+            notifyObservers(s);
+            this.candidateMoveStartTime = System.nanoTime();
+            this.quiescenceCount = search.getQuiescenceCount();
         }
-        return depth - 1;
     }
 
     private static String calculateTimeTaken(final long start, final long end) {
@@ -205,4 +232,4 @@ public class AlphaBetaTuned extends Observable implements MoveStrategy {
         return timeTaken + " ms";
     }
 
-}
\ No newline at end of file
+}
@@ -1,9 +1,15 @@
 package com.chess.engine.player.ai;
 
 import com.chess.engine.board.Board;
+import com.chess.engine.board.SearchBoard;
 
 public interface BoardEvaluator {
 
     int evaluate(Board board, int depth);
 
+    int evaluate(SearchBoard board, int depth);
+
+    // a rough estimate of evaluate from white's side, cheap enough to decide what not to search
+    int staticEstimate(SearchBoard board);
+
 }
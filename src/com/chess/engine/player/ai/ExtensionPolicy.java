@@ -0,0 +1,13 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.SearchBoard;
+
+public interface ExtensionPolicy {
+
+    // plies to search the move just made on the board deeper than its nominal depth
+    int extension(SearchBoard board, int move);
+
+    // the most plies any one line may be extended by in a search to the given depth
+    int maxExtensions(int rootDepth);
+
+}
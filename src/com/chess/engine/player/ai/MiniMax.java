@@ -4,20 +4,20 @@ import com.chess.engine.board.Board;
 import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
 import com.chess.engine.board.Move.NullMove;
-import com.chess.engine.player.MoveTransition;
+import com.chess.engine.board.SearchBoard;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
 
 public class MiniMax implements MoveStrategy {
 
-    private final BoardEvaluator boardEvaluator;
+    private final NegamaxSearch search;
     private final int searchDepth;
-    private long boardsEvaluated;
     private FreqTableRow[] freqTable;
-    private int freqTableIndex;
 
     public MiniMax(final int searchDepth) {
-        this.boardEvaluator = new StandardBoardEvaluator();
+        this.search = NegamaxSearch.miniMax(new StandardBoardEvaluator());
         this.searchDepth = searchDepth;
     }
 
@@ -28,108 +28,51 @@ public class MiniMax implements MoveStrategy {
 
     @Override
     public long getNumBoardsEvaluated() {
-        return this.boardsEvaluated;
+        return this.search.getBoardsEvaluated();
     }
 
     @Override
     public Move execute(Board board) {
 
         final long startTime = System.currentTimeMillis();
+        final SearchBoard searchBoard = new SearchBoard(board);
+        this.search.startSearch(Long.MAX_VALUE, 0);
 
         Move bestMove = new NullMove();
 
-        int highestSeenValue = Integer.MIN_VALUE;
-        int lowestSeenValue = Integer.MAX_VALUE;
-        int currentValue;
-
         System.out.println(board.currentPlayer() + " thinking with depth = " + this.searchDepth);
 
-        this.freqTable = new FreqTableRow[board.currentPlayer().getLegalMoves().size()];
-        this.freqTableIndex = 0;
-        int moveCounter = 1;
-        int numMoves = board.currentPlayer().getLegalMoves().size();
-
-        for (final Move move : board.currentPlayer().getLegalMoves()) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()) {
-                final FreqTableRow row = new FreqTableRow(move);
-                this.freqTable[this.freqTableIndex] = row;
-                currentValue = board.currentPlayer().getAlliance().isWhite() ?
-                        min(moveTransition.getToBoard(), searchDepth - 1) :
-                        max(moveTransition.getToBoard(), searchDepth - 1);
-                this.freqTableIndex++;
-                if (board.currentPlayer().getAlliance().isWhite() &&
-                        currentValue >= highestSeenValue) {
-                    highestSeenValue = currentValue;
-                    bestMove = move;
-                } else if (board.currentPlayer().getAlliance().isBlack() &&
-                        currentValue <= lowestSeenValue) {
-                    lowestSeenValue = currentValue;
-                    bestMove = move;
-                }
-            } else {
-                System.out.println("\t" + toString() + " can't execute move (" +moveCounter+ "/" +numMoves+ ") " + move);
-            }
-            moveCounter++;
+        final List<Move> rootMoves = new ArrayList<>(board.currentPlayer().getLegalMoves());
+
+        this.freqTable = new FreqTableRow[rootMoves.size()];
+        final long boardsEvaluatedBefore = this.search.getBoardsEvaluated();
+        final long[] boardsEvaluatedSoFar = {boardsEvaluatedBefore};
+        if (!rootMoves.isEmpty()) {
+            bestMove = this.search.searchRoot(searchBoard, rootMoves, this.searchDepth, -NegamaxSearch.INFINITY, NegamaxSearch.INFINITY,
+                    (index, score, bestIndex, bestScore) -> {
+                        final FreqTableRow row = new FreqTableRow(rootMoves.get(index));
+                        row.add(this.search.getBoardsEvaluated() - boardsEvaluatedSoFar[0]);
+                        this.freqTable[index] = row;
+                        boardsEvaluatedSoFar[0] = this.search.getBoardsEvaluated();
+                    }).bestMove;
         }
 
+        final long boardsEvaluated = this.search.getBoardsEvaluated() - boardsEvaluatedBefore;
         long executionTime = System.currentTimeMillis() - startTime;
         System.out.printf("%s SELECTS %s [#boards = %d time taken = %d ms, rate = %.1f\n", board.currentPlayer(),
-                bestMove, this.boardsEvaluated, executionTime, (1000 * ((double)this.boardsEvaluated/ executionTime)));
+                bestMove, boardsEvaluated, executionTime, (1000 * ((double)boardsEvaluated/ executionTime)));
         long total = 0;
         for (final FreqTableRow row : this.freqTable) {
             if(row != null) {
                 total += row.getCount();
             }
         }
-        if(this.boardsEvaluated != total) {
+        if(boardsEvaluated != total) {
             System.out.println("somethings wrong with the # of boards evaluated!");
         }
         return bestMove;
     }
 
-    private int min(Board board, final int depth) {
-        if (depth == 0) {
-            this.boardsEvaluated++;
-            this.freqTable[this.freqTableIndex].increment();
-            return this.boardEvaluator.evaluate(board, depth);
-        }
-        int lowestSeenValue = Integer.MAX_VALUE;
-        for (final Move move: board.currentPlayer().getLegalMoves()) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()) {
-                final int currentValue = max(moveTransition.getToBoard(), depth - 1);
-                if (currentValue <= lowestSeenValue) {
-                    lowestSeenValue = currentValue;
-                }
-            }
-        }
-        return lowestSeenValue;
-    }
-
-    private static boolean isEndGameScenario(final Board board) {
-        return board.currentPlayer().isInCheckMate() || board.currentPlayer().isInStaleMate();
-    }
-
-    private int max(Board board, final int depth) {
-        if (depth == 0 || isEndGameScenario(board)) {
-            this.boardsEvaluated++;
-            this.freqTable[this.freqTableIndex].increment();
-            return this.boardEvaluator.evaluate(board, depth);
-        }
-        int highestSeenValue = Integer.MIN_VALUE;
-        for (final Move move: board.currentPlayer().getLegalMoves()) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()) {
-                final int currentValue = max(moveTransition.getToBoard(), depth - 1);
-                if (currentValue >= highestSeenValue) {
-                    highestSeenValue = currentValue;
-                }
-            }
-        }
-        return highestSeenValue;
-    }
-
     private static class FreqTableRow {
 
         private final Move move;
@@ -144,8 +87,8 @@ public class MiniMax implements MoveStrategy {
             return this.count.get();
         }
 
-        void increment() {
-            this.count.incrementAndGet();
+        void add(final long boards) {
+            this.count.addAndGet(boards);
         }
 
         @Override
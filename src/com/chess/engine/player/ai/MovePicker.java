@@ -0,0 +1,141 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.MoveEncoding;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.SearchBoard;
+
+import static com.chess.engine.board.BoardUtils.mvvlva;
+
+// hands out moves one stage at a time, so a node that cuts off early never generates or orders the rest
+final class MovePicker {
+
+    private static final int HASH_MOVE = 0;
+    private static final int GENERATE_CAPTURES = 1;
+    private static final int GOOD_CAPTURES = 2;
+    private static final int FIRST_KILLER = 3;
+    private static final int SECOND_KILLER = 4;
+    private static final int GENERATE_QUIETS = 5;
+    private static final int QUIETS = 6;
+    private static final int BAD_CAPTURES = 7;
+    private static final int DONE = 8;
+
+    private static final int CASTLE_ORDER = 1 << 23;
+
+    private final MoveList captures;
+    private final MoveList quiets;
+    private final MoveList badCaptures;
+    private SearchBoard board;
+    private int hashMove;
+    private int[] killers;
+    private int[] history;
+    private int stage;
+    private int index;
+
+    MovePicker() {
+        this.captures = new MoveList();
+        this.quiets = new MoveList();
+        this.badCaptures = new MoveList();
+    }
+
+    void init(final SearchBoard board,
+              final int hashMove,
+              final int[] killers,
+              final int[] history) {
+        this.board = board;
+        this.hashMove = hashMove;
+        this.killers = killers;
+        this.history = history;
+        this.stage = HASH_MOVE;
+    }
+
+    // each stage falls through to the next once it has nothing left to hand out
+    @SuppressWarnings("fallthrough")
+    int next() {
+        switch (this.stage) {
+            case HASH_MOVE:
+                this.stage = GENERATE_CAPTURES;
+                if (this.board.isLegalMove(this.hashMove)) {
+                    return this.hashMove;
+                }
+                // fall through
+            case GENERATE_CAPTURES:
+                this.board.generateCaptures(this.captures);
+                for (int i = 0; i < this.captures.size(); i++) {
+                    this.captures.setScore(i, mvvlva(this.board, this.captures.get(i)));
+                }
+                this.badCaptures.clear();
+                this.index = 0;
+                this.stage = GOOD_CAPTURES;
+                // fall through
+            case GOOD_CAPTURES:
+                while (this.index < this.captures.size()) {
+                    final int move = this.captures.selectBest(this.index++);
+                    if (move == this.hashMove) {
+                        continue;
+                    }
+                    if (!isGoodCapture(move)) {
+                        this.badCaptures.add(move);
+                        continue;
+                    }
+                    return move;
+                }
+                this.stage = FIRST_KILLER;
+                // fall through
+            case FIRST_KILLER:
+                this.stage = SECOND_KILLER;
+                if (isPlayableKiller(this.killers[0])) {
+                    return this.killers[0];
+                }
+                // fall through
+            case SECOND_KILLER:
+                this.stage = GENERATE_QUIETS;
+                if (isPlayableKiller(this.killers[1])) {
+                    return this.killers[1];
+                }
+                // fall through
+            case GENERATE_QUIETS:
+                this.board.generateQuiets(this.quiets);
+                for (int i = 0; i < this.quiets.size(); i++) {
+                    final int move = this.quiets.get(i);
+                    this.quiets.setScore(i, (MoveEncoding.isCastle(move) ? CASTLE_ORDER : 0) + this.history[historyIndex(move)]);
+                }
+                this.index = 0;
+                this.stage = QUIETS;
+                // fall through
+            case QUIETS:
+                while (this.index < this.quiets.size()) {
+                    final int move = this.quiets.selectBest(this.index++);
+                    if (move != this.hashMove && move != this.killers[0] && move != this.killers[1]) {
+                        return move;
+                    }
+                }
+                this.index = 0;
+                this.stage = BAD_CAPTURES;
+                // fall through
+            case BAD_CAPTURES:
+                if (this.index < this.badCaptures.size()) {
+                    return this.badCaptures.get(this.index++);
+                }
+                this.stage = DONE;
+                // fall through
+            default:
+                return MoveEncoding.NO_MOVE;
+        }
+    }
+
+    static int historyIndex(final int move) {
+        return MoveEncoding.origin(move) * BoardUtils.NUM_TILES + MoveEncoding.destination(move);
+    }
+
+    // a capture is put off to the end when the exchange it starts loses material
+    private boolean isGoodCapture(final int move) {
+        return this.board.staticExchange(move) >= 0;
+    }
+
+    private boolean isPlayableKiller(final int killer) {
+        return killer != this.hashMove && !MoveEncoding.isCapture(killer) && !MoveEncoding.isPromotion(killer) &&
+                this.board.isLegalMove(killer);
+    }
+
+}
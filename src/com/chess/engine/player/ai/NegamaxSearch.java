@@ -0,0 +1,543 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveEncoding;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.SearchBoard;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.chess.engine.board.BoardUtils.mvvlva;
+
+// scores are from the side to move's point of view, so one routine serves both colours
+public final class NegamaxSearch {
+
+    static final int INFINITY = Integer.MAX_VALUE / 2;
+
+    // captures are followed at most this many plies past the horizon
+    private static final int MAX_QUIESCENCE_PLY = 8;
+    // a capture that cannot lift the stand-pat score to within this margin of alpha is not searched
+    private static final int DELTA_MARGIN = 200;
+    // the clock is only read once every this many nodes
+    private static final int BUDGET_CHECK_MASK = 1023;
+
+    private static final int MAX_HISTORY = 1 << 22;
+    private static final int NULL_MOVE_MIN_DEPTH = 2;
+    // from here on the null move is searched three plies shallower instead of two
+    private static final int NULL_MOVE_DEEP_DEPTH = 6;
+
+    private final BoardEvaluator evaluator;
+    private final TranspositionTable transpositionTable;
+    private final boolean pruning;
+    private final SearchConfig config;
+    private final MoveList[] moveLists;
+    private final MovePicker[] movePickers;
+    private final int[][] killers;
+    // plies the line leading to each ply has been extended by so far
+    private final int[] extensions;
+    // butterfly table, indexed by side then origin * 64 + destination
+    private final int[][] history;
+    private long boardsEvaluated;
+    private long quiescenceCount;
+    private long cutOffsProduced;
+    private long firstMoveCutOffs;
+    private long nullMoveCutOffs;
+    private long lateMovesPruned;
+    private long lateMoveReSearches;
+    private long futilityPruned;
+    private long razoringCutOffs;
+    private long extensionsGranted;
+    private int maxExtensions;
+    private long nodesSearched;
+    private long deadline;
+    private long nodeBudget;
+    private boolean abortable;
+    private boolean aborted;
+
+    interface RootListener {
+        void moveSearched(int index, int score, int bestIndex, int bestScore);
+    }
+
+    static final class RootResult {
+
+        final Move bestMove;
+        final int score;
+        final boolean isMate;
+
+        RootResult(final Move bestMove,
+                   final int score,
+                   final boolean isMate) {
+            this.bestMove = bestMove;
+            this.score = score;
+            this.isMate = isMate;
+        }
+    }
+
+    private NegamaxSearch(final BoardEvaluator evaluator,
+                          final TranspositionTable transpositionTable,
+                          final boolean pruning,
+                          final SearchConfig config) {
+        this.evaluator = evaluator;
+        this.transpositionTable = transpositionTable;
+        this.pruning = pruning;
+        this.config = config;
+        this.moveLists = new MoveList[SearchBoard.MAX_PLY];
+        for (int i = 0; i < this.moveLists.length; i++) {
+            this.moveLists[i] = new MoveList();
+        }
+        this.movePickers = new MovePicker[SearchBoard.MAX_PLY];
+        for (int i = 0; i < this.movePickers.length; i++) {
+            this.movePickers[i] = new MovePicker();
+        }
+        this.killers = new int[SearchBoard.MAX_PLY][2];
+        this.extensions = new int[SearchBoard.MAX_PLY];
+        this.history = new int[2][BoardUtils.NUM_TILES * BoardUtils.NUM_TILES];
+        this.deadline = Long.MAX_VALUE;
+    }
+
+    // principal variation search with a transposition table and a quiescence search at the horizon
+    public static NegamaxSearch alphaBeta(final BoardEvaluator evaluator,
+                                          final TranspositionTable transpositionTable) {
+        return alphaBeta(evaluator, transpositionTable, SearchConfig.get());
+    }
+
+    public static NegamaxSearch alphaBeta(final BoardEvaluator evaluator,
+                                          final TranspositionTable transpositionTable,
+                                          final SearchConfig config) {
+        return new NegamaxSearch(evaluator, transpositionTable, true, config);
+    }
+
+    // every move to the full depth, no cut-offs, no table and no extensions
+    public static NegamaxSearch miniMax(final BoardEvaluator evaluator) {
+        final SearchConfig.Builder builder = new SearchConfig.Builder();
+        builder.setExtensionPolicy(SearchExtensions.NONE);
+        return new NegamaxSearch(evaluator, new TranspositionTable(0), false, builder.build());
+    }
+
+    public TranspositionTable getTranspositionTable() {
+        return this.transpositionTable;
+    }
+
+    public long getBoardsEvaluated() {
+        return this.boardsEvaluated;
+    }
+
+    public long getQuiescenceCount() {
+        return this.quiescenceCount;
+    }
+
+    public long getCutOffsProduced() {
+        return this.cutOffsProduced;
+    }
+
+    public long getNullMoveCutOffs() {
+        return this.nullMoveCutOffs;
+    }
+
+    public long getLateMovesPruned() {
+        return this.lateMovesPruned;
+    }
+
+    public long getFutilityPruned() {
+        return this.futilityPruned;
+    }
+
+    public long getRazoringCutOffs() {
+        return this.razoringCutOffs;
+    }
+
+    public long getExtensionsGranted() {
+        return this.extensionsGranted;
+    }
+
+    // how often a reduced search failed high and the move had to be searched again at full depth
+    public long getLateMoveReSearches() {
+        return this.lateMoveReSearches;
+    }
+
+    public int getKiller(final int ply,
+                         final int slot) {
+        return this.killers[ply][slot];
+    }
+
+    public int getHistoryScore(final Alliance alliance,
+                               final int move) {
+        return this.history[alliance.ordinal()][MovePicker.historyIndex(move)];
+    }
+
+    // how often the first move searched was already good enough to cut off, the measure of move ordering
+    public double getFirstMoveCutOffRate() {
+        return this.cutOffsProduced == 0 ? 0.0 : (double) this.firstMoveCutOffs / this.cutOffsProduced;
+    }
+
+    // a deadline of Long.MAX_VALUE or a node budget of zero means no limit
+    public void startSearch(final long deadline,
+                            final long nodeBudget) {
+        this.deadline = deadline;
+        this.nodeBudget = nodeBudget;
+        this.nodesSearched = 0;
+        this.aborted = false;
+        this.boardsEvaluated = 0;
+        this.quiescenceCount = 0;
+        this.cutOffsProduced = 0;
+        this.firstMoveCutOffs = 0;
+        this.nullMoveCutOffs = 0;
+        this.lateMovesPruned = 0;
+        this.lateMoveReSearches = 0;
+        this.futilityPruned = 0;
+        this.razoringCutOffs = 0;
+        this.extensionsGranted = 0;
+        // killers belong to the plies of the previous position, history only needs to fade
+        for (final int[] plyKillers : this.killers) {
+            Arrays.fill(plyKillers, MoveEncoding.NO_MOVE);
+        }
+        ageHistory();
+    }
+
+    // forgets everything learned from earlier positions, for when the game they came from is over
+    public void clear() {
+        this.transpositionTable.clear();
+        for (final int[] sideHistory : this.history) {
+            Arrays.fill(sideHistory, 0);
+        }
+    }
+
+    // budgets are only enforced once there is a completed result to fall back on
+    public void setAbortable(final boolean abortable) {
+        this.abortable = abortable;
+    }
+
+    public boolean isAborted() {
+        return this.aborted;
+    }
+
+    public boolean isOutOfBudget() {
+        return (this.nodeBudget > 0 && this.nodesSearched >= this.nodeBudget) ||
+                System.currentTimeMillis() >= this.deadline;
+    }
+
+    // the root moves are searched in the given order; the first gets the full window, the rest a null window first
+    RootResult searchRoot(final SearchBoard board,
+                          final List<Move> rootMoves,
+                          final int depth,
+                          final int alpha,
+                          final int beta,
+                          final RootListener listener) {
+        int currentAlpha = alpha;
+        int bestScore = -INFINITY;
+        int bestIndex = 0;
+        boolean isMate = false;
+        this.maxExtensions = this.config.getExtensionPolicy().maxExtensions(depth);
+        this.extensions[board.getPly()] = 0;
+        for (int i = 0; i < rootMoves.size(); i++) {
+            final int move = MoveEncoding.encode(rootMoves.get(i));
+            board.makeMove(move);
+            final boolean givesMate = board.isInCheck() && BoardUtils.isEndGame(board);
+            final int score = searchChild(board, depth - 1 + extend(board, move), 0, currentAlpha, beta, i == 0);
+            board.unmakeMove();
+            if (this.aborted) {
+                break;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                bestIndex = i;
+                isMate = givesMate;
+                currentAlpha = Math.max(currentAlpha, score);
+            }
+            listener.moveSearched(i, score, bestIndex, bestScore);
+            if (isMate || (this.pruning && currentAlpha >= beta)) {
+                break;
+            }
+        }
+        return new RootResult(rootMoves.get(bestIndex), bestScore, isMate);
+    }
+
+    public int search(final SearchBoard board,
+                      final int depth,
+                      final int alpha,
+                      final int beta) {
+        if (shouldStop()) {
+            return 0;
+        }
+        if (BoardUtils.isEndGame(board)) {
+            return evaluate(board, depth);
+        }
+        if (isDraw(board)) {
+            return 0;
+        }
+        if (depth == 0) {
+            return this.pruning ? quiescence(board, 0, alpha, beta) : evaluate(board, depth);
+        }
+        final long entry = this.pruning ? this.transpositionTable.probe(board.zobristKey()) : TranspositionTable.NO_ENTRY;
+        if (isUsable(entry, depth, alpha, beta)) {
+            return TranspositionTable.score(entry);
+        }
+        final boolean inCheck = board.isInCheck();
+        final boolean pvNode = beta - alpha > 1;
+        // near the leaves a cheap estimate decides whether anything short of a capture could still reach alpha
+        final boolean nearLeaves = this.pruning && !pvNode && !inCheck &&
+                depth <= Math.max(this.config.getFutilityDepth(), this.config.getRazoringDepth());
+        final int estimate = nearLeaves ? staticEstimate(board) : 0;
+        if (nearLeaves && depth <= this.config.getRazoringDepth() && estimate + this.config.razoringMargin(depth) <= alpha) {
+            final int score = quiescence(board, 0, alpha, alpha + 1);
+            if (this.aborted) {
+                return 0;
+            }
+            // at depth 1 the captures are all that could have helped, deeper the quiescence search has to confirm it
+            if (depth == 1 || score <= alpha) {
+                this.razoringCutOffs++;
+                return score;
+            }
+        }
+        final boolean futile = nearLeaves && depth <= this.config.getFutilityDepth() &&
+                estimate + this.config.futilityMargin(depth) <= alpha;
+        if (isNullMoveAllowed(board, depth, alpha, beta)) {
+            board.makeNullMove();
+            this.extensions[board.getPly()] = this.extensions[board.getPly() - 1];
+            final int score = -search(board, Math.max(0, depth - 1 - nullMoveReduction(depth)), -beta, -beta + 1);
+            board.unmakeNullMove();
+            if (this.aborted) {
+                return 0;
+            }
+            if (score >= beta) {
+                this.nullMoveCutOffs++;
+                this.transpositionTable.store(board.zobristKey(), depth, TranspositionTable.LOWER_BOUND, beta,
+                        TranspositionTable.move(entry));
+                return beta;
+            }
+        }
+        final int[] plyKillers = this.killers[board.getPly()];
+        int currentAlpha = alpha;
+        int bestScore = -INFINITY;
+        int bestMove = MoveEncoding.NO_MOVE;
+        final MovePicker movePicker = this.movePickers[board.getPly()];
+        movePicker.init(board, TranspositionTable.move(entry), plyKillers, this.history[board.getMoveMaker().ordinal()]);
+        int movesSearched = 0;
+        for (int move = movePicker.next(); move != MoveEncoding.NO_MOVE; move = movePicker.next()) {
+            final boolean lateQuiet = this.pruning && movesSearched > 0 && !inCheck && !MoveEncoding.isCapture(move) &&
+                    !MoveEncoding.isPromotion(move) && move != plyKillers[0] && move != plyKillers[1] && !board.givesCheck(move);
+            if (lateQuiet && !pvNode && movesSearched >= this.config.lateMovePruningCount(depth)) {
+                this.lateMovesPruned++;
+                continue;
+            }
+            if (lateQuiet && futile) {
+                this.futilityPruned++;
+                continue;
+            }
+            board.makeMove(move);
+            final int extension = extend(board, move);
+            // the principal variation is reduced a ply less than the rest, an extended move not at all
+            final int reduction = lateQuiet && extension == 0 ?
+                    Math.max(0, this.config.reduction(depth, movesSearched) - (pvNode ? 1 : 0)) : 0;
+            final int score = searchChild(board, depth - 1 + extension, reduction, currentAlpha, beta, movesSearched++ == 0);
+            board.unmakeMove();
+            if (this.aborted) {
+                return bestScore;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+                currentAlpha = Math.max(currentAlpha, score);
+            }
+            if (this.pruning && currentAlpha >= beta) {
+                this.cutOffsProduced++;
+                if (movesSearched == 1) {
+                    this.firstMoveCutOffs++;
+                }
+                if (!MoveEncoding.isCapture(move) && !MoveEncoding.isPromotion(move)) {
+                    updateQuietHeuristics(board, move, depth);
+                }
+                break;
+            }
+        }
+        if (this.pruning) {
+            this.transpositionTable.store(board.zobristKey(), depth, bestScore >= beta ? TranspositionTable.LOWER_BOUND :
+                    bestScore > alpha ? TranspositionTable.EXACT : TranspositionTable.UPPER_BOUND, bestScore, bestMove);
+        }
+        return bestScore;
+    }
+
+    // a later move only needs to prove it is no better than alpha, a late quiet one even at reduced depth;
+    // whatever fails to prove it is searched again, first without the reduction and then with the real window
+    private int searchChild(final SearchBoard board,
+                            final int depth,
+                            final int reduction,
+                            final int alpha,
+                            final int beta,
+                            final boolean firstMove) {
+        if (firstMove || !this.pruning) {
+            return -search(board, depth, -beta, -alpha);
+        }
+        if (reduction > 0) {
+            final int reducedScore = -search(board, Math.max(1, depth - reduction), -alpha - 1, -alpha);
+            if (reducedScore <= alpha || this.aborted) {
+                return reducedScore;
+            }
+            this.lateMoveReSearches++;
+        }
+        final int score = -search(board, depth, -alpha - 1, -alpha);
+        if (score > alpha && score < beta && !this.aborted) {
+            return -search(board, depth, -beta, -alpha);
+        }
+        return score;
+    }
+
+    // the side to move may stand pat on the static score unless in check, in which case every evasion is tried
+    private int quiescence(final SearchBoard board,
+                           final int quiescencePly,
+                           final int alpha,
+                           final int beta) {
+        if (shouldStop()) {
+            return 0;
+        }
+        this.quiescenceCount++;
+        if (isDraw(board)) {
+            return 0;
+        }
+        final int standPat = evaluate(board, 0);
+        final boolean inCheck = board.isInCheck();
+        if (!board.hasLegalMove() || quiescencePly >= MAX_QUIESCENCE_PLY) {
+            return standPat;
+        }
+        int bestScore = inCheck ? -INFINITY : standPat;
+        if (bestScore >= beta) {
+            return bestScore;
+        }
+        int currentAlpha = Math.max(alpha, bestScore);
+        final MoveList moves = this.moveLists[board.getPly()];
+        board.generateTacticalMoves(moves);
+        sortCaptures(board, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            final int move = moves.get(i);
+            if (!inCheck && !MoveEncoding.isPromotion(move) &&
+                    (standPat + capturedValue(board, move) + DELTA_MARGIN <= currentAlpha || board.staticExchange(move) < 0)) {
+                continue;
+            }
+            board.makeMove(move);
+            final int score = -quiescence(board, quiescencePly + 1, -beta, -currentAlpha);
+            board.unmakeMove();
+            if (this.aborted) {
+                return bestScore;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                currentAlpha = Math.max(currentAlpha, score);
+                if (currentAlpha >= beta) {
+                    break;
+                }
+            }
+        }
+        return bestScore;
+    }
+
+    // if passing still fails high the position is good enough without a real move; never on the principal
+    // variation, twice in a row, in check, or with only king and pawns, where passing may really be best
+    private boolean isNullMoveAllowed(final SearchBoard board,
+                                      final int depth,
+                                      final int alpha,
+                                      final int beta) {
+        return this.pruning && depth >= NULL_MOVE_MIN_DEPTH && beta - alpha == 1 &&
+                board.getMove(0) != MoveEncoding.NO_MOVE && !board.isInCheck() &&
+                board.hasNonPawnMaterial(board.getMoveMaker());
+    }
+
+    private static int nullMoveReduction(final int depth) {
+        return depth > NULL_MOVE_DEEP_DEPTH ? 3 : 2;
+    }
+
+    // a repeated position or fifty quiet moves end the line; the root itself still has to pick a move
+    private static boolean isDraw(final SearchBoard board) {
+        return board.getPly() > 0 && (board.isRepetition() || board.isFiftyMoveDraw());
+    }
+
+    // a lower bound settles a node that fails high, an upper bound one that fails low
+    static boolean isUsable(final long entry,
+                            final int depth,
+                            final int alpha,
+                            final int beta) {
+        if (entry == TranspositionTable.NO_ENTRY || TranspositionTable.depth(entry) < depth) {
+            return false;
+        }
+        final int score = TranspositionTable.score(entry);
+        switch (TranspositionTable.bound(entry)) {
+            case TranspositionTable.EXACT:
+                return true;
+            case TranspositionTable.LOWER_BOUND:
+                return score >= beta;
+            default:
+                return score <= alpha;
+        }
+    }
+
+    private int evaluate(final SearchBoard board,
+                         final int depth) {
+        this.boardsEvaluated++;
+        final int score = this.evaluator.evaluate(board, depth);
+        return board.getMoveMaker().isWhite() ? score : -score;
+    }
+
+    // at most one ply per move, and only while the line is within its budget
+    private int extend(final SearchBoard board,
+                       final int move) {
+        final int extended = this.extensions[board.getPly() - 1];
+        final int extension = extended < this.maxExtensions &&
+                this.config.getExtensionPolicy().extension(board, move) > 0 ? 1 : 0;
+        this.extensions[board.getPly()] = extended + extension;
+        this.extensionsGranted += extension;
+        return extension;
+    }
+
+    private int staticEstimate(final SearchBoard board) {
+        final int score = this.evaluator.staticEstimate(board);
+        return board.getMoveMaker().isWhite() ? score : -score;
+    }
+
+    private boolean shouldStop() {
+        if (!this.aborted && (++this.nodesSearched & BUDGET_CHECK_MASK) == 0) {
+            this.aborted = this.abortable && isOutOfBudget();
+        }
+        return this.aborted;
+    }
+
+    private void updateQuietHeuristics(final SearchBoard board,
+                                       final int move,
+                                       final int depth) {
+        final int[] plyKillers = this.killers[board.getPly()];
+        if (plyKillers[0] != move) {
+            plyKillers[1] = plyKillers[0];
+            plyKillers[0] = move;
+        }
+        final int[] sideHistory = this.history[board.getMoveMaker().ordinal()];
+        final int index = MovePicker.historyIndex(move);
+        sideHistory[index] += depth * depth;
+        if (sideHistory[index] >= MAX_HISTORY) {
+            ageHistory();
+        }
+    }
+
+    private void ageHistory() {
+        for (final int[] sideHistory : this.history) {
+            for (int i = 0; i < sideHistory.length; i++) {
+                sideHistory[i] /= 2;
+            }
+        }
+    }
+
+    private static void sortCaptures(final SearchBoard board,
+                                     final MoveList moves) {
+        for (int i = 0; i < moves.size(); i++) {
+            moves.setScore(i, mvvlva(board, moves.get(i)));
+        }
+        moves.sort();
+    }
+
+    private static int capturedValue(final SearchBoard board,
+                                     final int move) {
+        final int capturedPiece = board.getCapturedPiece(move);
+        return capturedPiece == SearchBoard.EMPTY ? 0 : SearchBoard.pieceType(capturedPiece).getPieceValue();
+    }
+
+}
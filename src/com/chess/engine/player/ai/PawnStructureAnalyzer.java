@@ -1,5 +1,6 @@
 package com.chess.engine.player.ai;
 
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.player.Player;
 
@@ -33,6 +34,14 @@ public final class PawnStructureAnalyzer {
         return calculatePawnColumnStack(pawnsOnColumnTable) + calculateIsolatedPawnPenalty(pawnsOnColumnTable);
     }
 
+    public int pawnStructureScore(final long pawns) {
+        final int[] pawnsOnColumnTable = new int[8];
+        for (long remaining = pawns; remaining != 0L; remaining = BitBoard.clearFirstSquare(remaining)) {
+            pawnsOnColumnTable[BitBoard.firstSquare(remaining) % 8]++;
+        }
+        return calculatePawnColumnStack(pawnsOnColumnTable) + calculateIsolatedPawnPenalty(pawnsOnColumnTable);
+    }
+
     private static Collection<Piece> calculatePlayerPawns(final Player player) {
         return player.getActivePieces().stream().filter(piece -> piece.getPieceType() == Piece.PieceType.PAWN).collect(Collectors.toList());
     }
@@ -0,0 +1,174 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.SearchBoard;
+
+// the tunable knobs of the negamax search; NegamaxSearch only reads them
+public final class SearchConfig {
+
+    private static final int MAX_MOVES = 64;
+
+    private static final SearchConfig DEFAULT = new Builder().build();
+
+    private final int lateMoveReductionDepth;
+    private final int lateMoveReductionMoves;
+    private final int lateMovePruningDepth;
+    private final int[][] reductions;
+    private final int[] lateMovePruningCounts;
+    private final int[] futilityMargins;
+    private final int[] razoringMargins;
+    private final ExtensionPolicy extensionPolicy;
+    private final int aspirationWindow;
+
+    private SearchConfig(final Builder builder) {
+        this.lateMoveReductionDepth = builder.lateMoveReductionDepth;
+        this.lateMoveReductionMoves = builder.lateMoveReductionMoves;
+        this.lateMovePruningDepth = builder.lateMovePruningDepth;
+        this.reductions = calculateReductions(builder.reductionBase, builder.reductionDivisor);
+        this.lateMovePruningCounts = calculateLateMovePruningCounts(builder.lateMovePruningBase, builder.lateMovePruningDepth);
+        this.futilityMargins = builder.futilityMargins.clone();
+        this.razoringMargins = builder.razoringMargins.clone();
+        this.extensionPolicy = builder.extensionPolicy;
+        this.aspirationWindow = builder.aspirationWindow;
+    }
+
+    public static SearchConfig get() {
+        return DEFAULT;
+    }
+
+    // how many plies a quiet move is searched shallower, given the remaining depth and how many moves came before it
+    public int reduction(final int depth,
+                         final int movesSearched) {
+        if (depth < this.lateMoveReductionDepth || movesSearched < this.lateMoveReductionMoves) {
+            return 0;
+        }
+        return this.reductions[Math.min(depth, SearchBoard.MAX_PLY - 1)][Math.min(movesSearched, MAX_MOVES - 1)];
+    }
+
+    // once this many moves have been tried at a frontier node the remaining quiet ones are not searched at all
+    public int lateMovePruningCount(final int depth) {
+        return depth <= this.lateMovePruningDepth ? this.lateMovePruningCounts[depth] : Integer.MAX_VALUE;
+    }
+
+    // futility pruning runs up to the depth of the last margin; depth 1 is plain futility, beyond that extended futility
+    public int getFutilityDepth() {
+        return this.futilityMargins.length;
+    }
+
+    public int futilityMargin(final int depth) {
+        return this.futilityMargins[depth - 1];
+    }
+
+    public int getRazoringDepth() {
+        return this.razoringMargins.length;
+    }
+
+    public int razoringMargin(final int depth) {
+        return this.razoringMargins[depth - 1];
+    }
+
+    public ExtensionPolicy getExtensionPolicy() {
+        return this.extensionPolicy;
+    }
+
+    // half the width of the first window around the previous iteration's score
+    public int getAspirationWindow() {
+        return this.aspirationWindow;
+    }
+
+    // the reduction grows with the log of both the depth and the move number
+    private static int[][] calculateReductions(final double base,
+                                               final double divisor) {
+        final int[][] reductions = new int[SearchBoard.MAX_PLY][MAX_MOVES];
+        for (int depth = 1; depth < reductions.length; depth++) {
+            for (int moves = 1; moves < MAX_MOVES; moves++) {
+                reductions[depth][moves] = Math.max(0, (int) (base + Math.log(depth) * Math.log(moves) / divisor));
+            }
+        }
+        return reductions;
+    }
+
+    private static int[] calculateLateMovePruningCounts(final int base,
+                                                        final int maxDepth) {
+        final int[] counts = new int[Math.max(maxDepth, 0) + 1];
+        for (int depth = 1; depth < counts.length; depth++) {
+            counts[depth] = base + depth * depth;
+        }
+        return counts;
+    }
+
+    public static class Builder {
+
+        int lateMoveReductionDepth;
+        int lateMoveReductionMoves;
+        double reductionBase;
+        double reductionDivisor;
+        int lateMovePruningDepth;
+        int lateMovePruningBase;
+        int[] futilityMargins;
+        int[] razoringMargins;
+        ExtensionPolicy extensionPolicy;
+        int aspirationWindow;
+
+        public Builder() {
+            this.lateMoveReductionDepth = 3;
+            this.lateMoveReductionMoves = 3;
+            this.reductionBase = 0.75;
+            this.reductionDivisor = 2.25;
+            this.lateMovePruningDepth = 3;
+            this.lateMovePruningBase = 3;
+            this.futilityMargins = new int[] {200, 500};
+            this.razoringMargins = new int[] {300, 550};
+            this.extensionPolicy = SearchExtensions.TACTICAL;
+            this.aspirationWindow = 50;
+        }
+
+        // a depth no search reaches switches reductions off
+        public void setLateMoveReductionDepth(final int lateMoveReductionDepth) {
+            this.lateMoveReductionDepth = lateMoveReductionDepth;
+        }
+
+        public void setLateMoveReductionMoves(final int lateMoveReductionMoves) {
+            this.lateMoveReductionMoves = lateMoveReductionMoves;
+        }
+
+        public void setReductionBase(final double reductionBase) {
+            this.reductionBase = reductionBase;
+        }
+
+        public void setReductionDivisor(final double reductionDivisor) {
+            this.reductionDivisor = reductionDivisor;
+        }
+
+        // zero switches late move pruning off
+        public void setLateMovePruningDepth(final int lateMovePruningDepth) {
+            this.lateMovePruningDepth = lateMovePruningDepth;
+        }
+
+        public void setLateMovePruningBase(final int lateMovePruningBase) {
+            this.lateMovePruningBase = lateMovePruningBase;
+        }
+
+        // one margin per depth starting at depth 1, none at all switches futility pruning off
+        public void setFutilityMargins(final int... futilityMargins) {
+            this.futilityMargins = futilityMargins;
+        }
+
+        public void setRazoringMargins(final int... razoringMargins) {
+            this.razoringMargins = razoringMargins;
+        }
+
+        public void setExtensionPolicy(final ExtensionPolicy extensionPolicy) {
+            this.extensionPolicy = extensionPolicy;
+        }
+
+        // zero searches every iteration with the full window
+        public void setAspirationWindow(final int aspirationWindow) {
+            this.aspirationWindow = aspirationWindow;
+        }
+
+        public SearchConfig build() {
+            return new SearchConfig(this);
+        }
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.MoveEncoding;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.pieces.Piece;
+
+// a line may gain one ply for every two of nominal depth, so an extended search never runs more than half as deep again
+public enum SearchExtensions implements ExtensionPolicy {
+
+    NONE {
+        @Override
+        public int extension(final SearchBoard board,
+                             final int move) {
+            return 0;
+        }
+    },
+    CHECKS {
+        @Override
+        public int extension(final SearchBoard board,
+                             final int move) {
+            return board.isInCheck() ? 1 : 0;
+        }
+    },
+    // checks, recaptures on the square just captured on, and pawns stepping onto the rank before promotion
+    TACTICAL {
+        @Override
+        public int extension(final SearchBoard board,
+                             final int move) {
+            return board.isInCheck() || isRecapture(board, move) || isPawnPushToSeventh(board, move) ? 1 : 0;
+        }
+    };
+
+    @Override
+    public int maxExtensions(final int rootDepth) {
+        return rootDepth / 2;
+    }
+
+    private static boolean isRecapture(final SearchBoard board,
+                                       final int move) {
+        final int previousMove = board.getMove(1);
+        return MoveEncoding.isCapture(move) && MoveEncoding.isCapture(previousMove) &&
+                MoveEncoding.destination(move) == MoveEncoding.destination(previousMove);
+    }
+
+    private static boolean isPawnPushToSeventh(final SearchBoard board,
+                                               final int move) {
+        final int destination = MoveEncoding.destination(move);
+        final int movedPiece = board.getPiece(destination);
+        if (SearchBoard.pieceType(movedPiece) != Piece.PieceType.PAWN) {
+            return false;
+        }
+        return SearchBoard.pieceAlliance(movedPiece) == Alliance.WHITE ? BoardUtils.SEVENTH_RANK[destination] :
+                BoardUtils.SECOND_RANK[destination];
+    }
+
+}
@@ -1,7 +1,10 @@
 package com.chess.engine.player.ai;
 
+import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
+import com.chess.engine.board.SearchBoard;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.player.Player;
 import com.chess.engine.player.ai.KingSafetyAnalyzer.KingDistance;
@@ -15,6 +18,7 @@ public final class StandardBoardEvaluator
     private final static int MOBILITY_MULTIPLIER = 5;
     private final static int ATTACK_MULTIPLIER = 1;
     private final static int TWO_BISHOPS_BONUS = 25;
+    private static final Piece.PieceType[] PIECE_TYPES = Piece.PieceType.values();
     private static final StandardBoardEvaluator INSTANCE = new StandardBoardEvaluator();
 
     public StandardBoardEvaluator() {
@@ -30,6 +34,18 @@ public final class StandardBoardEvaluator
         return score(board.whitePlayer(), depth) - score(board.blackPlayer(), depth);
     }
 
+    @Override
+    public int evaluate(final SearchBoard board,
+                        final int depth) {
+        return score(board, Alliance.WHITE, depth) - score(board, Alliance.BLACK, depth);
+    }
+
+    // material and piece placement only, without the move generation mobility and attacks need
+    @Override
+    public int staticEstimate(final SearchBoard board) {
+        return pieceEvaluations(board.getBitBoard(), Alliance.WHITE) - pieceEvaluations(board.getBitBoard(), Alliance.BLACK);
+    }
+
     public String evaluationDetails(final Board board, final int depth) {
         return
                 ("White Mobility : " + mobility(board.whitePlayer()) + "\n") +
@@ -58,6 +74,63 @@ public final class StandardBoardEvaluator
                 pawnStructure(player);
     }
 
+    private static int score(final SearchBoard board,
+                             final Alliance alliance,
+                             final int depth) {
+        final Alliance opponent = alliance.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+        return mobility(board, alliance, opponent) +
+                kingThreats(board, opponent, depth) +
+                board.countFavourableCaptures(alliance) * ATTACK_MULTIPLIER +
+                (board.isCastled(alliance) ? CASTLE_BONUS : 0) +
+                pieceEvaluations(board.getBitBoard(), alliance) +
+                PawnStructureAnalyzer.get().pawnStructureScore(board.getBitBoard().getPieces(alliance, Piece.PieceType.PAWN));
+    }
+
+    private static int mobility(final SearchBoard board,
+                                final Alliance alliance,
+                                final Alliance opponent) {
+        return MOBILITY_MULTIPLIER * (int)((board.countMoves(alliance) * 10.0f) / board.countMoves(opponent));
+    }
+
+    private static int kingThreats(final SearchBoard board,
+                                   final Alliance opponent,
+                                   final int depth) {
+        if (board.getMoveMaker() != opponent || !board.isInCheck()) {
+            return 0;
+        }
+        return board.hasLegalMove() ? CHECK_BONUS : CHECK_MATE_BONUS * depthBonus(depth);
+    }
+
+    private static int pieceEvaluations(final BitBoard bitBoard,
+                                        final Alliance alliance) {
+        int pieceValuationScore = 0;
+        for (final Piece.PieceType pieceType : PIECE_TYPES) {
+            for (long pieces = bitBoard.getPieces(alliance, pieceType); pieces != 0L; pieces = BitBoard.clearFirstSquare(pieces)) {
+                pieceValuationScore += pieceType.getPieceValue() + locationBonus(alliance, pieceType, BitBoard.firstSquare(pieces));
+            }
+        }
+        return pieceValuationScore + (BitBoard.bitCount(bitBoard.getPieces(alliance, Piece.PieceType.BISHOP)) == 2 ? TWO_BISHOPS_BONUS : 0);
+    }
+
+    private static int locationBonus(final Alliance alliance,
+                                     final Piece.PieceType pieceType,
+                                     final int square) {
+        switch (pieceType) {
+            case PAWN:
+                return alliance.pawnBonus(square);
+            case KNIGHT:
+                return alliance.knightBonus(square);
+            case BISHOP:
+                return alliance.bishopBonus(square);
+            case ROOK:
+                return alliance.rookBonus(square);
+            case QUEEN:
+                return alliance.queenBonus(square);
+            default:
+                return alliance.kingBonus(square);
+        }
+    }
+
     private static int attacks(final Player player) {
         int attackScore = 0;
         for(final Move move : player.getLegalMoves()) {
@@ -0,0 +1,141 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.MoveEncoding;
+
+import java.util.Arrays;
+
+public final class TranspositionTable {
+
+    public static final int DEFAULT_SIZE_MB = 16;
+    public static final long NO_ENTRY = 0L;
+
+    public static final int EXACT = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int UPPER_BOUND = 3;
+
+    // two entries per bucket: slot 0 keeps the deepest result, slot 1 takes whatever slot 0 refuses
+    private static final int BUCKET_SIZE = 2;
+    private static final int BYTES_PER_ENTRY = Long.BYTES * 2;
+
+    // data layout: bits 0-31 score, 32-39 depth, 40-41 bound, 42-59 move
+    private static final int DEPTH_SHIFT = 32;
+    private static final int BOUND_SHIFT = 40;
+    private static final int MOVE_SHIFT = 42;
+    private static final long DEPTH_MASK = 0xFFL;
+    private static final long BOUND_MASK = 0x3L;
+    private static final long MOVE_MASK = 0x3FFFFL;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int bucketMask;
+    private long probes;
+    private long hits;
+    private long stores;
+    private int used;
+
+    public TranspositionTable(final int sizeInMb) {
+        final long entries = Math.max(BUCKET_SIZE, (long) sizeInMb * 1024 * 1024 / BYTES_PER_ENTRY);
+        final int buckets = Integer.highestOneBit((int) Math.min(entries / BUCKET_SIZE, 1 << 30));
+        this.keys = new long[buckets * BUCKET_SIZE];
+        this.data = new long[buckets * BUCKET_SIZE];
+        this.bucketMask = buckets - 1;
+    }
+
+    public long probe(final long zobristKey) {
+        this.probes++;
+        final int bucket = bucket(zobristKey);
+        for (int slot = bucket; slot < bucket + BUCKET_SIZE; slot++) {
+            if (this.data[slot] != NO_ENTRY && this.keys[slot] == zobristKey) {
+                this.hits++;
+                return this.data[slot];
+            }
+        }
+        return NO_ENTRY;
+    }
+
+    public void store(final long zobristKey,
+                      final int depth,
+                      final int bound,
+                      final int score,
+                      final int move) {
+        this.stores++;
+        final int slot = slot(zobristKey, depth);
+        if (this.data[slot] == NO_ENTRY) {
+            this.used++;
+        }
+        this.keys[slot] = zobristKey;
+        this.data[slot] = (score & 0xFFFFFFFFL) | ((depth & DEPTH_MASK) << DEPTH_SHIFT) |
+                ((long) bound << BOUND_SHIFT) | ((long) move << MOVE_SHIFT);
+    }
+
+    public static int score(final long entry) {
+        return (int) entry;
+    }
+
+    public static int depth(final long entry) {
+        return (int) ((entry >>> DEPTH_SHIFT) & DEPTH_MASK);
+    }
+
+    public static int bound(final long entry) {
+        return (int) ((entry >>> BOUND_SHIFT) & BOUND_MASK);
+    }
+
+    public static int move(final long entry) {
+        return entry == NO_ENTRY ? MoveEncoding.NO_MOVE : (int) ((entry >>> MOVE_SHIFT) & MOVE_MASK);
+    }
+
+    public void clear() {
+        Arrays.fill(this.keys, 0L);
+        Arrays.fill(this.data, NO_ENTRY);
+        this.probes = 0;
+        this.hits = 0;
+        this.stores = 0;
+        this.used = 0;
+    }
+
+    public long getProbes() {
+        return this.probes;
+    }
+
+    public long getHits() {
+        return this.hits;
+    }
+
+    public long getStores() {
+        return this.stores;
+    }
+
+    public double getHitRate() {
+        return this.probes == 0 ? 0.0 : (double) this.hits / this.probes;
+    }
+
+    public double getOccupancy() {
+        return (double) this.used / this.keys.length;
+    }
+
+    public int getCapacity() {
+        return this.keys.length;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("tt: hits = %.1f%%, occupancy = %.1f%%", 100 * getHitRate(), 100 * getOccupancy());
+    }
+
+    // a position already in the bucket is overwritten where it is, so the bucket never holds two copies of it
+    private int slot(final long zobristKey,
+                     final int depth) {
+        final int bucket = bucket(zobristKey);
+        for (int slot = bucket; slot < bucket + BUCKET_SIZE; slot++) {
+            if (this.data[slot] != NO_ENTRY && this.keys[slot] == zobristKey) {
+                return slot;
+            }
+        }
+        return this.data[bucket] == NO_ENTRY || depth >= depth(this.data[bucket]) ? bucket : bucket + 1;
+    }
+
+    private int bucket(final long zobristKey) {
+        return ((int) zobristKey & this.bucketMask) * BUCKET_SIZE;
+    }
+
+}
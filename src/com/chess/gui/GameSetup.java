@@ -13,6 +13,7 @@ class GameSetup extends JDialog {
     private PlayerType whitePlayerType;
     private PlayerType blackPlayerType;
     private final JSpinner searchDepthSpinner;
+    private final JSpinner thinkTimeSpinner;
 
     private static final String HUMAN_TEXT = "Human";
     private static final String COMPUTER_TEXT = "Computer";
@@ -44,7 +45,8 @@ class GameSetup extends JDialog {
         myPanel.add(blackComputerButton);
 
         myPanel.add(new JLabel("Search"));
-        this.searchDepthSpinner = addLabeledSpinner(myPanel, new SpinnerNumberModel(4, 0, 8, 1));
+        this.searchDepthSpinner = addLabeledSpinner(myPanel, "Search Depth", new SpinnerNumberModel(4, 0, 8, 1));
+        this.thinkTimeSpinner = addLabeledSpinner(myPanel, "Think Time (s, 0 = unlimited)", new SpinnerNumberModel(0, 0, 120, 1));
 
         final JButton cancelButton = new JButton("Cancel");
         final JButton okButton = new JButton("OK");
@@ -88,8 +90,8 @@ class GameSetup extends JDialog {
         return this.blackPlayerType;
     }
 
-    private static JSpinner addLabeledSpinner(Container c, SpinnerModel model) {
-        final JLabel l = new JLabel("Search Depth");
+    private static JSpinner addLabeledSpinner(Container c, String label, SpinnerModel model) {
+        final JLabel l = new JLabel(label);
         c.add(l);
         final JSpinner spinner = new JSpinner(model);
         l.setLabelFor(spinner);
@@ -100,4 +102,8 @@ class GameSetup extends JDialog {
     int getSearchDepth() {
         return (Integer)this.searchDepthSpinner.getValue();
     }
+
+    long getThinkTimeMillis() {
+        return 1000L * (Integer)this.thinkTimeSpinner.getValue();
+    }
 }
\ No newline at end of file
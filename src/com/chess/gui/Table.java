@@ -48,6 +48,7 @@ public class Table extends Observable {
     private Piece humanMovedPiece;
     private BoardDirection boardDirection;
     private Move computerMove;
+    private AlphaBetaTuned strategy;
 
     private int lastToTile = -1;
     private int lastFromTile = -1;
@@ -237,12 +238,23 @@ public class Table extends Observable {
         return alphaBetaOn;
     }
 
+    // one strategy plays the whole game so its table and history carry over between moves; new settings need a new one
+    private AlphaBetaTuned getStrategy() {
+        if (this.strategy == null || this.strategy.getSearchDepth() != this.gameSetup.getSearchDepth() ||
+                this.strategy.getTimeBudgetMillis() != this.gameSetup.getThinkTimeMillis()) {
+            this.strategy = new AlphaBetaTuned(this.gameSetup.getSearchDepth(), this.gameSetup.getThinkTimeMillis(), 0);
+            this.strategy.addObserver(this.debugPanel);
+        }
+        return this.strategy;
+    }
+
     private static class TableGameAIWatcher implements Observer {
         @Override
         public void update(Observable o, Object arg) {
             if (Table.get().getGameSetup().isAIPlayer(Table.get().getGameBoard().currentPlayer()) &&
                     !Table.get().getGameBoard().currentPlayer().isInCheckMate() &&
-                    !Table.get().getGameBoard().currentPlayer().isInStaleMate()) {
+                    !Table.get().getGameBoard().currentPlayer().isInStaleMate() &&
+                    !isDrawn(Table.get().getGameBoard())) {
                 System.out.println(Table.get().getGameBoard().currentPlayer() + " is set to AI, thinking....");
                 final AIThinkTank thinkTank = new AIThinkTank();
                 thinkTank.execute();
@@ -261,6 +273,17 @@ public class Table extends Observable {
                         "Game Over: Player " + Table.get().getGameBoard().currentPlayer() + " is in stalemate!", "Game Over",
                         JOptionPane.INFORMATION_MESSAGE);
             }
+
+            if (isDrawn(Table.get().getGameBoard())) {
+                JOptionPane.showMessageDialog(Table.get().getBoardPanel(),
+                        "Game Over: draw by " + (Table.get().getGameBoard().getHistory().isFiftyMoveDraw() ?
+                                "the fifty move rule!" : "threefold repetition!"), "Game Over",
+                        JOptionPane.INFORMATION_MESSAGE);
+            }
+        }
+
+        private static boolean isDrawn(final Board board) {
+            return board.getHistory().isThreefoldRepetition() || board.getHistory().isFiftyMoveDraw();
         }
     }
 
@@ -301,6 +324,9 @@ public class Table extends Observable {
             this.chessBoard = this.chessBoard.currentPlayer().unMakeMove(lastMove).getToBoard();
         }
         this.computerMove = null;
+        if (this.strategy != null) {
+            this.strategy.newGame();
+        }
         Table.get().getMoveLog().clear();
         Table.get().getGameHistoryPanel().redo(chessBoard, Table.get().getMoveLog());
         Table.get().getTakenPiecesPanel().redo(Table.get().getMoveLog());
@@ -338,9 +364,7 @@ public class Table extends Observable {
             final Move bestMove;
             if (Table.get().isAlphaBetaOn()) {
                 // final AlphaBeta strategy = new AlphaBeta(Table.get().getGameSetup().getSearchDepth(), 2000 + (100 * Table.get().getMoveLog().size())); //1500
-                final AlphaBetaTuned strategy = new AlphaBetaTuned(Table.get().getGameSetup().getSearchDepth());
-                strategy.addObserver(Table.get().getDebugPanel());
-                bestMove = strategy.execute(Table.get().getGameBoard());
+                bestMove = Table.get().getStrategy().execute(Table.get().getGameBoard());
             } else {
                 final MiniMax miniMax = new MiniMax(Table.get().getGameSetup().getSearchDepth());
                 bestMove = miniMax.execute(Table.get().getGameBoard());
@@ -599,7 +623,7 @@ public class Table extends Observable {
             if (humanMovedPiece != null && humanMovedPiece.getPieceAlliance() == board.currentPlayer().getAlliance()) {
                 if (humanMovedPiece.getPieceType() == KING) {
                     Collection<Move> pieceLegalMoves = humanMovedPiece.calculateLegalMoves(board);
-                    pieceLegalMoves.addAll(board.currentPlayer().calculateKingCastles(board.getLegalMoves(), board.getOpponentMoves()));
+                    pieceLegalMoves.addAll(board.currentPlayer().calculateKingCastles(board.getLegalMoves()));
                     return pieceLegalMoves;
                 }
                 return humanMovedPiece.calculateLegalMoves(board);
@@ -0,0 +1,217 @@
+package com.tests;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveEncoding;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.AlphaBetaTuned;
+import com.chess.engine.player.ai.MiniMax;
+import com.chess.engine.player.ai.MoveStrategy;
+import com.chess.engine.player.ai.NegamaxSearch;
+import com.chess.engine.player.ai.SearchConfig;
+import com.chess.engine.player.ai.SearchExtensions;
+import com.chess.engine.player.ai.StandardBoardEvaluator;
+import com.chess.engine.player.ai.TranspositionTable;
+import com.chess.imports.FenUtilities;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AITest {
+
+    @Test
+    public void testTranspositionTableStoreAndProbe() {
+        final TranspositionTable table = new TranspositionTable(1);
+        final int move = MoveEncoding.encode(12, 28, MoveEncoding.PAWN_JUMP);
+        assertEquals(table.probe(42L), TranspositionTable.NO_ENTRY);
+        table.store(42L, 3, TranspositionTable.LOWER_BOUND, -250, move);
+        final long entry = table.probe(42L);
+        assertEquals(TranspositionTable.score(entry), -250);
+        assertEquals(TranspositionTable.depth(entry), 3);
+        assertEquals(TranspositionTable.bound(entry), TranspositionTable.LOWER_BOUND);
+        assertEquals(TranspositionTable.move(entry), move);
+        assertEquals(table.getHits(), 1);
+        assertEquals(table.getProbes(), 2);
+    }
+
+    @Test
+    public void testTranspositionTableReplacement() {
+        final TranspositionTable table = new TranspositionTable(1);
+        final long deep = 5L;
+        final long shallow = deep + table.getCapacity() / 2;
+        final long newest = shallow + table.getCapacity() / 2;
+        table.store(deep, 6, TranspositionTable.EXACT, 10, MoveEncoding.NO_MOVE);
+        table.store(shallow, 2, TranspositionTable.EXACT, 20, MoveEncoding.NO_MOVE);
+        table.store(newest, 1, TranspositionTable.EXACT, 30, MoveEncoding.NO_MOVE);
+        assertEquals(TranspositionTable.score(table.probe(deep)), 10);
+        assertEquals(table.probe(shallow), TranspositionTable.NO_ENTRY);
+        assertEquals(TranspositionTable.score(table.probe(newest)), 30);
+        assertEquals(table.getOccupancy(), 2.0 / table.getCapacity());
+    }
+
+    @Test
+    public void testTranspositionTableUpdatesSameSlot() {
+        final TranspositionTable table = new TranspositionTable(1);
+        final long deep = 5L;
+        final long shallow = deep + table.getCapacity() / 2;
+        table.store(deep, 6, TranspositionTable.EXACT, 10, MoveEncoding.NO_MOVE);
+        table.store(shallow, 2, TranspositionTable.EXACT, 20, MoveEncoding.NO_MOVE);
+        // deep enough to take slot 0, but the position already lives in slot 1
+        table.store(shallow, 7, TranspositionTable.EXACT, 40, MoveEncoding.NO_MOVE);
+        assertEquals(TranspositionTable.score(table.probe(deep)), 10);
+        assertEquals(TranspositionTable.score(table.probe(shallow)), 40);
+        assertEquals(TranspositionTable.depth(table.probe(shallow)), 7);
+        assertEquals(table.getOccupancy(), 2.0 / table.getCapacity());
+    }
+
+    @Test
+    public void testIterativeDeepeningStopsOnNodeBudget() {
+        final Board board = Board.createStandardBoard();
+        final AlphaBetaTuned strategy = new AlphaBetaTuned(20, 0, 5000);
+        final Move move = strategy.execute(board);
+        assertTrue(board.currentPlayer().getLegalMoves().contains(move));
+        assertTrue(strategy.getNumBoardsEvaluated() < 100000);
+    }
+
+    @Test
+    public void testQuiescenceSeesRecapture() {
+        // the d5 pawn is defended, so taking it with the queen only looks good at a depth 1 horizon
+        final Board board = FenUtilities.createGameFromFEN("4k3/8/4p3/3p4/8/8/8/3QK3 w - - 0 1");
+        final Move move = new AlphaBetaTuned(1).execute(board);
+        assertFalse(move.isAttack());
+    }
+
+    @Test
+    public void testAspirationWindowReSearches() {
+        // with a window of a single point nearly every iteration fails one way or the other and has to search again
+        final Board board = FenUtilities.createGameFromFEN("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        final SearchConfig.Builder narrowBuilder = new SearchConfig.Builder();
+        narrowBuilder.setAspirationWindow(1);
+        final AlphaBetaTuned narrow = new AlphaBetaTuned(5, 0, 0, 1, narrowBuilder.build());
+        final SearchConfig.Builder fullBuilder = new SearchConfig.Builder();
+        fullBuilder.setAspirationWindow(0);
+        final AlphaBetaTuned full = new AlphaBetaTuned(5, 0, 0, 1, fullBuilder.build());
+        assertEquals(narrow.execute(board), full.execute(board));
+        assertTrue(narrow.getAspirationFailHighs() > 0);
+        assertTrue(narrow.getAspirationFailLows() > 0);
+        assertEquals(full.getAspirationFailHighs() + full.getAspirationFailLows(), 0);
+        // the counters belong to a single move
+        narrow.execute(FenUtilities.createGameFromFEN("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1"));
+        assertEquals(narrow.getAspirationFailHighs() + narrow.getAspirationFailLows(), 0);
+    }
+
+    @Test
+    public void testSearchConfig() {
+        final SearchConfig.Builder builder = new SearchConfig.Builder();
+        builder.setLateMoveReductionDepth(3);
+        builder.setLateMoveReductionMoves(4);
+        builder.setLateMovePruningDepth(2);
+        builder.setFutilityMargins(150);
+        builder.setRazoringMargins();
+        final SearchConfig config = builder.build();
+        assertEquals(config.reduction(2, 20), 0);
+        assertEquals(config.reduction(8, 3), 0);
+        assertTrue(config.reduction(8, 20) > config.reduction(4, 4));
+        assertEquals(config.lateMovePruningCount(3), Integer.MAX_VALUE);
+        assertEquals(config.getFutilityDepth(), 1);
+        assertEquals(config.futilityMargin(1), 150);
+        assertEquals(config.getRazoringDepth(), 0);
+        final Move move = new AlphaBetaTuned(4, 0, 0, 1, config).execute(Board.createStandardBoard());
+        assertTrue(Board.createStandardBoard().currentPlayer().getLegalMoves().contains(move));
+    }
+
+    @Test
+    public void testTacticalExtensions() {
+        final SearchBoard check = new SearchBoard(FenUtilities.createGameFromFEN("4k3/8/8/8/8/8/8/R3K3 w - - 0 1"));
+        assertEquals(extension(check, "a1", "a8", MoveEncoding.QUIET), 1);
+        assertEquals(extension(check, "a1", "a7", MoveEncoding.QUIET), 0);
+        final SearchBoard push = new SearchBoard(FenUtilities.createGameFromFEN("4k3/8/P7/8/8/8/8/4K3 w - - 0 1"));
+        assertEquals(extension(push, "a6", "a7", MoveEncoding.QUIET), 1);
+        final SearchBoard recapture = new SearchBoard(FenUtilities.createGameFromFEN("4k3/8/3p4/4n3/8/5N2/8/4K3 w - - 0 1"));
+        assertEquals(extension(recapture, "f3", "e5", MoveEncoding.CAPTURE), 0);
+        recapture.makeMove(move("f3", "e5", MoveEncoding.CAPTURE));
+        assertEquals(extension(recapture, "d6", "e5", MoveEncoding.CAPTURE), 1);
+        assertEquals(SearchExtensions.NONE.extension(check, MoveEncoding.NO_MOVE), 0);
+    }
+
+    private static int extension(final SearchBoard board,
+                                 final String from,
+                                 final String to,
+                                 final int flag) {
+        final int move = move(from, to, flag);
+        board.makeMove(move);
+        final int extension = SearchExtensions.TACTICAL.extension(board, move);
+        board.unmakeMove();
+        return extension;
+    }
+
+    private static int move(final String from,
+                            final String to,
+                            final int flag) {
+        return MoveEncoding.encode(BoardUtils.getCoordinateAtPosition(from), BoardUtils.getCoordinateAtPosition(to), flag);
+    }
+
+    @Test
+    public void testSearchSeesRepetition() {
+        // a queen and rook down, white only holds by checking from g5 and f6 until the position repeats
+        final Board board = FenUtilities.createGameFromFEN("r4rk1/5p1p/5Q2/8/8/8/q5PP/7K w - - 0 1");
+        final NegamaxSearch search = NegamaxSearch.alphaBeta(StandardBoardEvaluator.get(), new TranspositionTable(1));
+        search.startSearch(Long.MAX_VALUE, 0);
+        assertEquals(search.search(new SearchBoard(board), 5, -Integer.MAX_VALUE / 2, Integer.MAX_VALUE / 2), 0);
+        final Move move = new AlphaBetaTuned(5).execute(board);
+        assertEquals(BoardUtils.getPositionAtCoordinate(move.getDestination()), "g5");
+    }
+
+    @Test
+    public void testKillersAndHistory() {
+        final NegamaxSearch search = NegamaxSearch.alphaBeta(StandardBoardEvaluator.get(), new TranspositionTable(1));
+        search.startSearch(Long.MAX_VALUE, 0);
+        search.search(new SearchBoard(Board.createStandardBoard()), 4, -Integer.MAX_VALUE / 2, Integer.MAX_VALUE / 2);
+        final int killer = search.getKiller(1, 0);
+        assertNotEquals(killer, MoveEncoding.NO_MOVE);
+        assertFalse(MoveEncoding.isCapture(killer));
+        assertNotEquals(search.getKiller(1, 1), killer);
+        final int[] scores = new int[BoardUtils.NUM_TILES * BoardUtils.NUM_TILES];
+        int total = 0;
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = search.getHistoryScore(Alliance.BLACK, MoveEncoding.encode(i / BoardUtils.NUM_TILES, i % BoardUtils.NUM_TILES, MoveEncoding.QUIET));
+            total += scores[i];
+        }
+        assertTrue(total > 0);
+        assertTrue(search.getBoardsEvaluated() > 0);
+        // a new search forgets the killers and statistics, and halves the history
+        search.startSearch(Long.MAX_VALUE, 0);
+        assertEquals(search.getKiller(1, 0), MoveEncoding.NO_MOVE);
+        assertEquals(search.getBoardsEvaluated(), 0);
+        assertEquals(search.getFirstMoveCutOffRate(), 0.0);
+        for (int i = 0; i < scores.length; i++) {
+            assertEquals(search.getHistoryScore(Alliance.BLACK, MoveEncoding.encode(i / BoardUtils.NUM_TILES, i % BoardUtils.NUM_TILES, MoveEncoding.QUIET)), scores[i] / 2);
+        }
+    }
+
+    @Test
+    public void testTableCarriesOverUntilNewGame() {
+        final AlphaBetaTuned strategy = new AlphaBetaTuned(3);
+        final Board board = Board.createStandardBoard();
+        strategy.execute(board);
+        final double occupancy = strategy.getTranspositionTable().getOccupancy();
+        assertTrue(occupancy > 0);
+        strategy.execute(board.currentPlayer().makeMove(strategy.execute(board)).getToBoard());
+        assertTrue(strategy.getTranspositionTable().getOccupancy() > occupancy);
+        strategy.newGame();
+        assertEquals(strategy.getTranspositionTable().getOccupancy(), 0.0);
+    }
+
+    @Test
+    public void testStrategiesFindBackRankMate() {
+        final Board board = FenUtilities.createGameFromFEN("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+        for (final MoveStrategy strategy : new MoveStrategy[] {new MiniMax(2), new AlphaBeta(2, 0), new AlphaBetaTuned(2)}) {
+            final Move move = strategy.execute(board);
+            assertTrue(board.currentPlayer().makeMove(move).getToBoard().currentPlayer().isInCheckMate());
+        }
+    }
+
+}
@@ -1,10 +1,21 @@
 package com.tests;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.Move.MoveFactory;
+import com.chess.engine.board.MoveEncoding;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.pieces.Bishop;
 import com.chess.engine.pieces.King;
 import com.chess.engine.pieces.Pawn;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Rook;
+import com.chess.engine.player.MoveStatus;
+import com.chess.imports.FenUtilities;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -50,6 +61,223 @@ class BoardTest {
         assertEquals(board.currentPlayer().getOpponent(), board.blackPlayer());
     }
 
+    @Test
+    void testBitBoardView() {
+        final Board board = Board.createStandardBoard();
+        final BitBoard bitBoard = board.getBitBoard();
+        assertEquals(BitBoard.bitCount(bitBoard.getOccupied()), 32);
+        assertEquals(BitBoard.bitCount(bitBoard.getPieces(Alliance.WHITE)), 16);
+        assertEquals(BitBoard.bitCount(bitBoard.getPieces(Alliance.BLACK)), 16);
+        assertEquals(BitBoard.bitCount(bitBoard.getPieces(Alliance.WHITE, Piece.PieceType.PAWN)), 8);
+        assertEquals(BitBoard.firstSquare(bitBoard.getPieces(Alliance.BLACK, Piece.PieceType.KING)), 4);
+        assertEquals(BitBoard.firstSquare(bitBoard.getPieces(Alliance.WHITE, Piece.PieceType.KING)), 60);
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            assertEquals(bitBoard.isOccupied(i), board.getTile(i).occupied());
+        }
+        assertEquals(board.getWhitePieces().size(), 16);
+        assertEquals(board.getBlackPieces().size(), 16);
+    }
+
+    @Test
+    void testZobristTransposition() {
+        final Board board = Board.createStandardBoard();
+        final Board knightsOut = play(board, "g1", "f3", "g8", "f6");
+        final Board knightsBack = play(knightsOut, "f3", "g1", "f6", "g8");
+        assertEquals(knightsBack.zobristKey(), board.zobristKey());
+        assertNotEquals(knightsOut.zobristKey(), board.zobristKey());
+        assertEquals(knightsOut.pawnKey(), board.pawnKey());
+
+        final Board pawnFirst = play(board, "e2", "e3", "e7", "e6", "g1", "f3");
+        final Board knightFirst = play(board, "g1", "f3", "e7", "e6", "e2", "e3");
+        assertEquals(pawnFirst.zobristKey(), knightFirst.zobristKey());
+        assertEquals(pawnFirst.pawnKey(), knightFirst.pawnKey());
+        assertNotEquals(pawnFirst.pawnKey(), board.pawnKey());
+
+        // an en passant square only changes the key when a pawn could take there
+        final Board jumped = play(board, "e2", "e4");
+        assertEquals(jumped.zobristKey(),
+                FenUtilities.createGameFromFEN("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq - 0 1").zobristKey());
+        final Board capturable = play(board, "e2", "e4", "a7", "a6", "e4", "e5", "d7", "d5");
+        assertNotEquals(capturable.zobristKey(),
+                FenUtilities.createGameFromFEN("rnbqkbnr/1pp1pppp/p7/3pP3/8/8/PPPP1PPP/RNBQKBNR w KQkq - 0 3").zobristKey());
+    }
+
+    @Test
+    void testSquareAttacks() {
+        final Board board = Board.createStandardBoard();
+        assertTrue(board.isSquareAttacked(BoardUtils.getCoordinateAtPosition("e3"), Alliance.WHITE));
+        assertFalse(board.isSquareAttacked(BoardUtils.getCoordinateAtPosition("e4"), Alliance.WHITE));
+        assertFalse(board.isSquareAttacked(BoardUtils.getCoordinateAtPosition("e3"), Alliance.BLACK));
+        assertEquals(board.attackersOf(BoardUtils.getCoordinateAtPosition("f3")).size(), 3);
+        final Board exposed = play(board, "e2", "e4", "f7", "f6", "d1", "h5");
+        assertTrue(exposed.currentPlayer().isInCheck());
+        assertEquals(exposed.attackersOf(BoardUtils.getCoordinateAtPosition("e8")).size(), 2);
+    }
+
+    @Test
+    void testPinnedPieceCannotLeaveLine() {
+        final Board.Builder builder = new Board.Builder();
+        builder.setPiece(new King(Alliance.BLACK, 0, false, false));
+        builder.setPiece(new Rook(Alliance.BLACK, 4));
+        builder.setPiece(new Bishop(Alliance.WHITE, 52));
+        builder.setPiece(new King(Alliance.WHITE, 60, false, false));
+        builder.setMoveMaker(Alliance.WHITE);
+        final Board board = builder.build();
+        // the legal moves never contain the pinned bishop's move, it can only be built by hand
+        final Move pinned = new Move.MajorMove(board, board.getTilePiece(BoardUtils.getCoordinateAtPosition("e2")),
+                BoardUtils.getCoordinateAtPosition("d3"));
+        assertFalse(board.currentPlayer().getLegalMoves().contains(pinned));
+        assertEquals(board.currentPlayer().makeMove(pinned).getMoveStatus(), MoveStatus.LEAVES_PLAYER_IN_CHECK);
+        assertEquals(board.currentPlayer().makeMove(MoveFactory.createMove(board, BoardUtils.getCoordinateAtPosition("e2"),
+                BoardUtils.getCoordinateAtPosition("d3"))).getMoveStatus(), MoveStatus.ILLEGAL_MOVE);
+        final Move step = MoveFactory.createMove(board, BoardUtils.getCoordinateAtPosition("e1"),
+                BoardUtils.getCoordinateAtPosition("d1"));
+        assertTrue(board.currentPlayer().makeMove(step).getMoveStatus().isDone());
+    }
+
+    @Test
+    void testFoolsMate() {
+        final Board board = play(Board.createStandardBoard(), "f2", "f3", "e7", "e5", "g2", "g4", "d8", "h4");
+        assertFalse(board.currentPlayer().hasLegalMove());
+        assertTrue(board.currentPlayer().isInCheckMate());
+        assertFalse(board.currentPlayer().isInStaleMate());
+        assertTrue(BoardUtils.isEndGame(board));
+        assertFalse(BoardUtils.isEndGame(new SearchBoard(Board.createStandardBoard())));
+        assertTrue(BoardUtils.isEndGame(new SearchBoard(board)));
+    }
+
+    @Test
+    void testRepetitionHistory() {
+        final Board board = Board.createStandardBoard();
+        final Board once = play(board, "g1", "f3", "g8", "f6", "f3", "g1", "f6", "g8");
+        assertEquals(once.getHistory().getRepetitions(), 2);
+        assertEquals(once.getHistory().getHalfmoveClock(), 4);
+        final Board twice = play(once, "g1", "f3", "g8", "f6", "f3", "g1", "f6", "g8");
+        assertTrue(twice.getHistory().isThreefoldRepetition());
+        assertFalse(twice.getHistory().isFiftyMoveDraw());
+        assertTrue(new SearchBoard(twice).isRepetition());
+
+        final Board pawnMoved = play(twice, "e2", "e4");
+        assertEquals(pawnMoved.getHistory().getHalfmoveClock(), 0);
+        assertEquals(pawnMoved.getHistory().getRepetitions(), 1);
+        assertFalse(new SearchBoard(pawnMoved).isRepetition());
+    }
+
+    @Test
+    void testMoveEncodingRoundTrip() {
+        final Board board = play(Board.createStandardBoard(), "e2", "e4", "d7", "d5");
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            final int encoded = MoveEncoding.encode(move);
+            assertEquals(MoveEncoding.origin(encoded), move.getCurrent());
+            assertEquals(MoveEncoding.destination(encoded), move.getDestination());
+            assertEquals(MoveEncoding.isCapture(encoded), move.isAttack());
+            assertEquals(MoveEncoding.decode(board, encoded), move);
+        }
+        assertEquals(MoveEncoding.encode(MoveFactory.getNullMove()), MoveEncoding.NO_MOVE);
+    }
+
+    @Test
+    void testStagedGenerationCoversLegalMoves() {
+        final SearchBoard board = new SearchBoard(play(Board.createStandardBoard(), "e2", "e4", "d7", "d5", "g1", "f3", "c8", "g4"));
+        final MoveList all = new MoveList();
+        final MoveList captures = new MoveList();
+        final MoveList quiets = new MoveList();
+        board.generateMoves(all);
+        board.generateCaptures(captures);
+        board.generateQuiets(quiets);
+        assertEquals(captures.size() + quiets.size(), all.size());
+        assertEquals(captures.size(), 1);
+        for (int i = 0; i < all.size(); i++) {
+            assertTrue(board.isLegalMove(all.get(i)));
+            assertTrue(captures.contains(all.get(i)) != quiets.contains(all.get(i)));
+        }
+        assertFalse(board.isLegalMove(MoveEncoding.encode(BoardUtils.getCoordinateAtPosition("f3"),
+                BoardUtils.getCoordinateAtPosition("e5"), MoveEncoding.CAPTURE)));
+        assertFalse(board.isLegalMove(MoveEncoding.encode(BoardUtils.getCoordinateAtPosition("f2"),
+                BoardUtils.getCoordinateAtPosition("f4"), MoveEncoding.PAWN_JUMP)));
+    }
+
+    @Test
+    void testGivesCheck() {
+        final SearchBoard board = new SearchBoard(FenUtilities.createGameFromFEN("4k3/8/8/8/8/8/4B3/4R1K1 w - - 0 1"));
+        final int e2 = BoardUtils.getCoordinateAtPosition("e2");
+        assertTrue(board.givesCheck(MoveEncoding.encode(e2, BoardUtils.getCoordinateAtPosition("d3"), MoveEncoding.QUIET)));
+        assertTrue(board.givesCheck(MoveEncoding.encode(e2, BoardUtils.getCoordinateAtPosition("b5"), MoveEncoding.QUIET)));
+        assertFalse(board.givesCheck(MoveEncoding.encode(BoardUtils.getCoordinateAtPosition("e1"),
+                BoardUtils.getCoordinateAtPosition("f1"), MoveEncoding.QUIET)));
+        final Board opening = play(Board.createStandardBoard(), "e2", "e4", "f7", "f6");
+        final Move queenCheck = MoveFactory.createMove(opening, BoardUtils.getCoordinateAtPosition("d1"),
+                BoardUtils.getCoordinateAtPosition("h5"));
+        assertTrue(BoardUtils.kingThreat(queenCheck));
+    }
+
+    @Test
+    void testStaticExchange() {
+        final int d5 = BoardUtils.getCoordinateAtPosition("d5");
+        final SearchBoard defended = new SearchBoard(FenUtilities.createGameFromFEN("4k3/8/4p3/3p4/8/8/8/3QK3 w - - 0 1"));
+        assertEquals(defended.staticExchange(MoveEncoding.encode(BoardUtils.getCoordinateAtPosition("d1"), d5, MoveEncoding.CAPTURE)), -800);
+        // the second rook only joins in once the first has left the file
+        final SearchBoard battery = new SearchBoard(FenUtilities.createGameFromFEN("3r2k1/8/8/3p4/8/8/3R4/3R2K1 w - - 0 1"));
+        assertEquals(battery.staticExchange(MoveEncoding.encode(BoardUtils.getCoordinateAtPosition("d2"), d5, MoveEncoding.CAPTURE)), 100);
+    }
+
+    @Test
+    void testMakeUnmakeRestoresBoard() {
+        // after d7-d5 white can castle, take en passant on d6, promote on b8 and take the a8 rook
+        final Board board = play(FenUtilities.createGameFromFEN("r3k2r/1P1p4/8/4P3/8/8/8/R3K2R b KQkq - 0 1"), "d7", "d5");
+        final SearchBoard searchBoard = new SearchBoard(board);
+        for (final String[] squares : new String[][] {{"e1", "g1"}, {"e5", "d6"}, {"b7", "b8"}, {"a1", "a8"}}) {
+            final Move move = MoveFactory.createMove(board, BoardUtils.getCoordinateAtPosition(squares[0]),
+                    BoardUtils.getCoordinateAtPosition(squares[1]));
+            assertTrue(board.currentPlayer().makeMove(move).getMoveStatus().isDone());
+            searchBoard.makeMove(MoveEncoding.encode(move));
+            assertSameState(searchBoard, new SearchBoard(board.currentPlayer().makeMove(move).getToBoard()));
+            assertEquals(searchBoard.getPly(), 1);
+            searchBoard.unmakeMove();
+            assertSameState(searchBoard, new SearchBoard(board));
+            assertEquals(searchBoard.getPly(), 0);
+        }
+    }
+
+    private static void assertSameState(final SearchBoard actual,
+                                        final SearchBoard expected) {
+        for (int pieceIndex = 0; pieceIndex < 2 * Piece.PieceType.values().length; pieceIndex++) {
+            assertEquals(actual.getBitBoard().getPieces(pieceIndex), expected.getBitBoard().getPieces(pieceIndex));
+        }
+        assertEquals(actual.getMoveMaker(), expected.getMoveMaker());
+        assertEquals(actual.getCastlingRights(), expected.getCastlingRights());
+        assertEquals(actual.getEnPassantSquare(), expected.getEnPassantSquare());
+        assertEquals(actual.zobristKey(), expected.zobristKey());
+        assertEquals(actual.pawnKey(), expected.pawnKey());
+    }
+
+    @Test
+    void testNullMove() {
+        final SearchBoard board = new SearchBoard(FenUtilities.createGameFromFEN("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1"));
+        final long key = board.zobristKey();
+        board.makeNullMove();
+        // passing gives up the en passant right along with the turn
+        final SearchBoard passed = new SearchBoard(FenUtilities.createGameFromFEN("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR w KQkq - 0 1"));
+        assertEquals(board.zobristKey(), passed.zobristKey());
+        assertEquals(board.getMoveMaker(), Alliance.WHITE);
+        board.unmakeNullMove();
+        assertEquals(board.zobristKey(), key);
+        assertEquals(board.getMoveMaker(), Alliance.BLACK);
+        // the null move's encoding is not a move the board will make
+        assertThrows(RuntimeException.class, () -> board.makeMove(MoveEncoding.encode(MoveFactory.getNullMove())));
+    }
+
+    private static Board play(final Board board,
+                              final String... squares) {
+        Board current = board;
+        for (int i = 0; i < squares.length; i += 2) {
+            final Move move = MoveFactory.createMove(current, BoardUtils.getCoordinateAtPosition(squares[i]),
+                    BoardUtils.getCoordinateAtPosition(squares[i + 1]));
+            current = current.currentPlayer().makeMove(move).getToBoard();
+        }
+        return current;
+    }
+
     @Test
     void testAlgebraicNotation() {
         assertEquals(BoardUtils.getPositionAtCoordinate(0), "a8");
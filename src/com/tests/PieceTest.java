@@ -29,7 +29,8 @@ public class PieceTest {
         final Collection<Move> whiteLegals = board.whitePlayer().getLegalMoves();
         final Collection<Move> blackLegals = board.blackPlayer().getLegalMoves();
         assertEquals(whiteLegals.size(), 31);
-        assertEquals(blackLegals.size(), 5);
+        // black stands in check down the e-file, so the king cannot step to e7
+        assertEquals(blackLegals.size(), 4);
         assertTrue(whiteLegals.contains(Move.MoveFactory
                 .createMove(board, BoardUtils.getCoordinateAtPosition("e4"), BoardUtils.getCoordinateAtPosition("e8"))));
         assertTrue(whiteLegals.contains(Move.MoveFactory
@@ -338,7 +339,8 @@ public class PieceTest {
         final Board board = builder.build();
         final Collection<Move> whiteLegals = board.whitePlayer().getLegalMoves();
         final Collection<Move> blackLegals = board.blackPlayer().getLegalMoves();
-        assertEquals(blackLegals.size(), 5);
+        // black stands in check down the e-file, so the king cannot step to e7
+        assertEquals(blackLegals.size(), 4);
         assertTrue(whiteLegals.contains(Move.MoveFactory
                 .createMove(board, BoardUtils.getCoordinateAtPosition("e4"), BoardUtils.getCoordinateAtPosition("e8"))));
         assertTrue(whiteLegals.contains(Move.MoveFactory
@@ -386,7 +388,7 @@ public class PieceTest {
         final Move m2 = Move.MoveFactory.createMove(t1.getToBoard(), BoardUtils.getCoordinateAtPosition("d8"), BoardUtils.getCoordinateAtPosition("h8"));
         final MoveTransition t2 = t1.getToBoard().currentPlayer().makeMove(m2);
         final Move m3 = Move.MoveFactory.createMove(t2.getToBoard(), BoardUtils.getCoordinateAtPosition("e2"), BoardUtils.getCoordinateAtPosition("d2"));
-        final MoveTransition t3 = board.currentPlayer().makeMove(m3);
+        final MoveTransition t3 = t2.getToBoard().currentPlayer().makeMove(m3);
         assertTrue(t3.getMoveStatus().isDone());
     }
 